@@ -16,8 +16,14 @@
 
 package io.spring.initializr.generator;
 
+import java.util.Objects;
+
 /**
- * A dependency to be declared in a project's build configuration.
+ * A dependency to be declared in a project's build configuration. Dependencies are
+ * immutable and are equal when their group ID, artifact ID, and type are equal, allowing
+ * well-known dependencies, such as those in a
+ * {@link io.spring.initializr.generator.catalog.DependencyCatalog catalog}, to be created
+ * once and shared across generations.
  *
  * @author Andy Wilkinson
  */
@@ -59,4 +65,28 @@ public class Dependency {
 		return this.type;
 	}
 
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		Dependency other = (Dependency) obj;
+		return Objects.equals(this.groupId, other.groupId)
+				&& Objects.equals(this.artifactId, other.artifactId)
+				&& this.type == other.type;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.groupId, this.artifactId, this.type);
+	}
+
+	@Override
+	public String toString() {
+		return this.groupId + ":" + this.artifactId + ":" + this.type;
+	}
+
 }
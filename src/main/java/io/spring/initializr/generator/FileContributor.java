@@ -16,9 +16,10 @@
 
 package io.spring.initializr.generator;
 
-import java.io.File;
 import java.io.IOException;
 
+import io.spring.initializr.generator.output.ProjectOutput;
+
 /**
  * A callback for contributing on or more files to a generated project.
  *
@@ -26,6 +27,18 @@ import java.io.IOException;
  */
 public interface FileContributor {
 
-	void contribute(File projectRoot) throws IOException;
+	void contribute(ProjectOutput output) throws IOException;
+
+	/**
+	 * Returns the name of the ordering group to which this contributor belongs. When
+	 * contributions are made concurrently, the contributors in the same group are still
+	 * invoked one at a time and in order. Typically used by contributors that write to
+	 * the same file. The default implementation returns {@code null}, indicating that
+	 * this contributor is independent of all other contributors.
+	 * @return the ordering group or {@code null}
+	 */
+	default String getOrderingGroup() {
+		return null;
+	}
 
 }
@@ -16,9 +16,17 @@
 
 package io.spring.initializr.generator;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import io.spring.initializr.generator.output.ProjectOutput;
 
 /**
  * A collection of {@link FileContributor FileContributors}.
@@ -33,9 +41,75 @@ class FileContributors {
 		this.contributors = contributors;
 	}
 
-	void contribute(File projectRoot) throws IOException {
+	void contribute(ProjectOutput output) throws IOException {
+		contribute(this.contributors, output);
+	}
+
+	/**
+	 * Invokes the contributors concurrently using the given {@code executor}.
+	 * Contributors that belong to the same {@link FileContributor#getOrderingGroup()
+	 * ordering group} are invoked one at a time, in order, so that the generated project
+	 * is identical to the one produced by {@link #contribute(ProjectOutput)}.
+	 * @param output the output to which the project is written
+	 * @param executor the executor used to invoke the contributors
+	 * @throws IOException if a contributor fails
+	 */
+	void contribute(ProjectOutput output, Executor executor) throws IOException {
+		List<CompletableFuture<Void>> contributions = new ArrayList<>();
+		for (List<FileContributor> group : groupContributors()) {
+			contributions.add(CompletableFuture.runAsync(() -> {
+				try {
+					contribute(group, output);
+				}
+				catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+			}, executor));
+		}
+		try {
+			CompletableFuture.allOf(contributions.toArray(new CompletableFuture<?>[0]))
+					.join();
+		}
+		catch (CompletionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof UncheckedIOException) {
+				throw ((UncheckedIOException) cause).getCause();
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw ex;
+		}
+	}
+
+	private List<List<FileContributor>> groupContributors() {
+		List<List<FileContributor>> groups = new ArrayList<>();
+		Map<String, List<FileContributor>> orderingGroups = new LinkedHashMap<>();
 		for (FileContributor contributor : this.contributors) {
-			contributor.contribute(projectRoot);
+			String orderingGroup = contributor.getOrderingGroup();
+			if (orderingGroup == null) {
+				List<FileContributor> group = new ArrayList<>();
+				group.add(contributor);
+				groups.add(group);
+			}
+			else {
+				orderingGroups.computeIfAbsent(orderingGroup, (name) -> {
+					List<FileContributor> group = new ArrayList<>();
+					groups.add(group);
+					return group;
+				}).add(contributor);
+			}
+		}
+		return groups;
+	}
+
+	private void contribute(List<FileContributor> contributors, ProjectOutput output)
+			throws IOException {
+		for (FileContributor contributor : contributors) {
+			contributor.contribute(output);
 		}
 	}
 
@@ -16,44 +16,54 @@
 
 package io.spring.initializr.generator;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.function.Predicate;
 
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
-import org.springframework.util.FileCopyUtils;
+import io.spring.initializr.generator.output.ProjectOutput;
+import io.spring.initializr.generator.output.ProjectOutput.Option;
+import io.spring.initializr.generator.resource.PackedResource;
+import io.spring.initializr.generator.resource.ResourcePack;
 
 /**
  * A {@link FileContributor} that contributes all of the resources found beneath a root
- * location to a generated project.
+ * location to a generated project. The resources are read once and then served from the
+ * {@link ResourcePack}.
  *
  * @author Andy Wilkinson
- * @see PathMatchingResourcePatternResolver
  */
 public class MultipleResourcesFileContributor implements FileContributor {
 
-	private final PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+	private final ResourcePack resourcePack = ResourcePack
+			.get(getClass().getClassLoader());
 
 	private final String rootResource;
 
+	private final Predicate<String> executable;
+
 	public MultipleResourcesFileContributor(String rootResource) {
+		this(rootResource, (filename) -> false);
+	}
+
+	/**
+	 * Creates a new contributor that contributes the resources beneath the given
+	 * {@code rootResource}, marking those whose path, relative to the root, matches the
+	 * given {@code executable} predicate as executable.
+	 * @param rootResource the root resource
+	 * @param executable the predicate used to identify executable files
+	 */
+	public MultipleResourcesFileContributor(String rootResource,
+			Predicate<String> executable) {
 		this.rootResource = rootResource;
+		this.executable = executable;
 	}
 
 	@Override
-	public void contribute(File projectRoot) throws IOException {
-		Resource root = this.resolver.getResource(this.rootResource);
-		Resource[] resources = this.resolver.getResources(this.rootResource + "/**");
-		for (Resource resource : resources) {
-			String filename = resource.getURI().getPath()
-					.substring(root.getURI().getPath().length());
-			if (resource.isReadable()) {
-				File output = new File(projectRoot, filename);
-				output.getParentFile().mkdirs();
-				FileCopyUtils.copy(resource.getInputStream(),
-						new FileOutputStream(output));
-			}
+	public void contribute(ProjectOutput output) throws IOException {
+		for (PackedResource resource : this.resourcePack
+				.getResources(this.rootResource)) {
+			Option[] options = this.executable.test(resource.getPath())
+					? new Option[] { Option.EXECUTABLE } : new Option[0];
+			output.write(resource.getPath(), resource, options);
 		}
 	}
 
@@ -18,7 +18,9 @@ package io.spring.initializr.generator;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import io.spring.initializr.generator.buildsystem.BuildSystem;
 import io.spring.initializr.generator.language.Language;
@@ -32,6 +34,8 @@ public class ProjectDescription {
 
 	private final List<Dependency> dependencies = new ArrayList<>();
 
+	private volatile Set<String> dependencyCoordinates;
+
 	private BuildSystem buildSystem;
 
 	private Language language;
@@ -74,10 +78,30 @@ public class ProjectDescription {
 
 	public void addDependency(Dependency dependency) {
 		this.dependencies.add(dependency);
+		this.dependencyCoordinates = null;
 	}
 
 	public List<Dependency> getDependencies() {
 		return Collections.unmodifiableList(this.dependencies);
 	}
 
+	/**
+	 * Returns the {@code groupId:artifactId} coordinates of the description's
+	 * dependencies. The set is built once, when it is first needed, and is then reused
+	 * until another dependency is added.
+	 * @return the dependency coordinates
+	 */
+	public Set<String> getDependencyCoordinates() {
+		Set<String> coordinates = this.dependencyCoordinates;
+		if (coordinates == null) {
+			Set<String> built = new HashSet<>();
+			for (Dependency dependency : this.dependencies) {
+				built.add(dependency.getGroupId() + ":" + dependency.getArtifactId());
+			}
+			coordinates = Collections.unmodifiableSet(built);
+			this.dependencyCoordinates = coordinates;
+		}
+		return coordinates;
+	}
+
 }
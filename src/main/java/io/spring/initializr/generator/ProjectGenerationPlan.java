@@ -0,0 +1,130 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.spring.initializr.generator.condition.ConditionOutcomeCache;
+import io.spring.initializr.generator.condition.ProjectGenerationCondition;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.StandardAnnotationMetadata;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * A plan of the project generation configurations that is computed once, when a
+ * {@link ProjectGenerator} is created. The class-level conditions of each configuration
+ * are resolved up front and are then evaluated directly against each
+ * {@link ProjectDescription}, without a bean factory, so that a generation's context only
+ * registers, parses, and refreshes the configurations that apply to it. Configurations
+ * without class-level conditions are included in every generation without any evaluation.
+ * Conditions that are not {@link ProjectGenerationCondition ProjectGenerationConditions}
+ * need a bean factory and are left to the generation's context.
+ *
+ * @author Andy Wilkinson
+ */
+class ProjectGenerationPlan {
+
+	private final List<Step> steps;
+
+	ProjectGenerationPlan(Class<?>... configurations) {
+		List<Step> steps = new ArrayList<>();
+		for (Class<?> configuration : configurations) {
+			AnnotationMetadata metadata = new StandardAnnotationMetadata(configuration,
+					true);
+			steps.add(new Step(configuration, metadata,
+					getConditions(metadata, configuration.getClassLoader())));
+		}
+		this.steps = Collections.unmodifiableList(steps);
+	}
+
+	/**
+	 * Returns the configurations that apply to the given {@code description}, in the
+	 * order in which they were provided when the plan was created.
+	 * @param description the description of the project being generated
+	 * @param cache the cache of condition outcomes or {@code null}
+	 * @return the configurations to register
+	 */
+	Class<?>[] getConfigurations(ProjectDescription description,
+			ConditionOutcomeCache cache) {
+		List<Class<?>> configurations = new ArrayList<>(this.steps.size());
+		for (Step step : this.steps) {
+			if (step.matches(description, cache)) {
+				configurations.add(step.configuration);
+			}
+		}
+		return configurations.toArray(new Class<?>[0]);
+	}
+
+	private static List<ProjectGenerationCondition> getConditions(
+			AnnotationMetadata metadata, ClassLoader classLoader) {
+		MultiValueMap<String, Object> attributes = metadata
+				.getAllAnnotationAttributes(Conditional.class.getName(), true);
+		if (attributes == null) {
+			return Collections.emptyList();
+		}
+		List<ProjectGenerationCondition> conditions = new ArrayList<>();
+		for (Object value : attributes.get("value")) {
+			for (String conditionClassName : (String[]) value) {
+				Class<?> conditionClass = ClassUtils.resolveClassName(conditionClassName,
+						classLoader);
+				if (ProjectGenerationCondition.class.isAssignableFrom(conditionClass)) {
+					conditions.add((ProjectGenerationCondition) BeanUtils
+							.instantiateClass(conditionClass));
+				}
+			}
+		}
+		return Collections.unmodifiableList(conditions);
+	}
+
+	/**
+	 * A configuration and the class-level conditions that can be evaluated without a bean
+	 * factory.
+	 */
+	private static final class Step {
+
+		private final Class<?> configuration;
+
+		private final AnnotationMetadata metadata;
+
+		private final List<ProjectGenerationCondition> conditions;
+
+		private Step(Class<?> configuration, AnnotationMetadata metadata,
+				List<ProjectGenerationCondition> conditions) {
+			this.configuration = configuration;
+			this.metadata = metadata;
+			this.conditions = conditions;
+		}
+
+		private boolean matches(ProjectDescription description,
+				ConditionOutcomeCache cache) {
+			for (ProjectGenerationCondition condition : this.conditions) {
+				if (!condition.matches(description, this.metadata, cache)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+}
@@ -16,36 +16,152 @@
 
 package io.spring.initializr.generator;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.Executor;
 
+import io.spring.initializr.generator.code.MainApplicationTypeCache;
+import io.spring.initializr.generator.condition.ConditionOutcomeCache;
+import io.spring.initializr.generator.language.SourceCodeWriter;
+import io.spring.initializr.generator.language.SourceFragmentCache;
+import io.spring.initializr.generator.output.DirectoryProjectOutput;
+import io.spring.initializr.generator.output.InMemoryProjectOutput;
+import io.spring.initializr.generator.output.ProjectOutput;
+import io.spring.initializr.generator.resource.ResourcePack;
+
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Import;
-import org.springframework.context.annotation.ImportSelector;
 import org.springframework.core.io.support.SpringFactoriesLoader;
-import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.util.ClassUtils;
 
 /**
  * Main entry point for project generation.
+ * <p>
+ * A generator keeps a long-lived parent context that holds the infrastructure that does
+ * not depend on a {@link ProjectDescription}, most notably the metadata of the project
+ * generation configuration classes. The configuration classes listed in
+ * {@code spring.factories} are also resolved once, when the generator is created, into a
+ * {@link ProjectGenerationPlan} that selects the configurations that apply to each
+ * description without a bean factory. Each call to {@link #generate} only refreshes a
+ * lightweight child context for the description-dependent beans of those configurations.
+ * A generator is thread-safe and is intended to be reused across generations. It should
+ * be {@link #close() closed} once it is no longer needed.
  *
  * @author Andy Wilkinson
  */
-public class ProjectGenerator {
+public class ProjectGenerator implements Closeable {
+
+	private final AnnotationConfigApplicationContext parentContext;
+
+	private final ProjectGenerationPlan plan;
+
+	private Executor executor;
+
+	private Executor sourceCodeExecutor;
+
+	public ProjectGenerator() {
+		this.parentContext = new AnnotationConfigApplicationContext(
+				SharedConfiguration.class);
+		this.plan = new ProjectGenerationPlan(
+				loadConfigurations(getClass().getClassLoader()));
+	}
+
+	/**
+	 * Returns the {@link ConditionOutcomeCache} that is shared by all of the generations
+	 * performed by this generator.
+	 * @return the condition outcome cache
+	 */
+	public ConditionOutcomeCache getConditionOutcomeCache() {
+		return this.parentContext.getBean(ConditionOutcomeCache.BEAN_NAME,
+				ConditionOutcomeCache.class);
+	}
+
+	/**
+	 * Returns the {@link SourceFragmentCache} that is shared by all of the generations
+	 * performed by this generator.
+	 * @return the source fragment cache
+	 */
+	public SourceFragmentCache getSourceFragmentCache() {
+		return this.parentContext.getBean(SourceFragmentCache.BEAN_NAME,
+				SourceFragmentCache.class);
+	}
+
+	/**
+	 * Returns the {@link MainApplicationTypeCache} that is shared by all of the
+	 * generations performed by this generator.
+	 * @return the main application type cache
+	 */
+	public MainApplicationTypeCache getMainApplicationTypeCache() {
+		return this.parentContext.getBean(MainApplicationTypeCache.BEAN_NAME,
+				MainApplicationTypeCache.class);
+	}
 
+	/**
+	 * Sets the {@link Executor} used to invoke the {@link FileContributor
+	 * FileContributors} concurrently. When {@code null}, the default, contributors are
+	 * invoked one at a time on the calling thread. On JDK 21 and later, an executor that
+	 * creates a virtual thread per task is well-suited to contributors that are mostly
+	 * performing I/O.
+	 * @param executor the executor or {@code null}
+	 * @see FileContributor#getOrderingGroup()
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Sets the {@link Executor} used by {@link SourceCodeWriter SourceCodeWriters} to
+	 * render compilation units concurrently. When {@code null}, the default, units are
+	 * rendered one at a time. The executor should be distinct from the one used to invoke
+	 * {@link #setExecutor(Executor) file contributors} as a contributor waits for the
+	 * units that it renders.
+	 * @param sourceCodeExecutor the executor or {@code null}
+	 */
+	public void setSourceCodeExecutor(Executor sourceCodeExecutor) {
+		this.sourceCodeExecutor = sourceCodeExecutor;
+	}
+
+	/**
+	 * Generates the project described by the given {@code description} in a new temporary
+	 * directory.
+	 * @param description the description of the project
+	 * @return the root directory of the generated project
+	 * @throws IOException if generation fails
+	 */
 	public File generate(ProjectDescription description) throws IOException {
+		Path projectRoot = Files.createTempDirectory("project-");
+		generate(description, new DirectoryProjectOutput(projectRoot));
+		return projectRoot.toFile();
+	}
+
+	/**
+	 * Generates the project described by the given {@code description}, writing its files
+	 * to the given {@code output}.
+	 * @param description the description of the project
+	 * @param output the output to which the project is written
+	 * @throws IOException if generation fails
+	 * @see InMemoryProjectOutput
+	 */
+	public void generate(ProjectDescription description, ProjectOutput output)
+			throws IOException {
 		long start = System.currentTimeMillis();
-		try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
-			context.registerBean(ProjectDescription.class, () -> description);
-			context.register(CoreConfiguration.class);
-			context.refresh();
-			Path projectRoot = Files.createTempDirectory("project-");
-			context.getBean(FileContributors.class).contribute(projectRoot.toFile());
-			return projectRoot.toFile();
+		try (AnnotationConfigApplicationContext context = createContext(description)) {
+			FileContributors fileContributors = context.getBean(FileContributors.class);
+			if (this.executor != null) {
+				fileContributors.contribute(output, this.executor);
+			}
+			else {
+				fileContributors.contribute(output);
+			}
 		}
 		finally {
 			System.out.println("Generated project in "
@@ -54,32 +170,102 @@ public class ProjectGenerator {
 	}
 
 	/**
-	 * Configuration used to bootstrap the application context used for project
-	 * generation.
+	 * Generates each of the projects described by the given {@code descriptions} in
+	 * memory, discarding the results. Intended to be called during startup so that the
+	 * metadata, condition outcomes, and {@link ResourcePack static resources} that the
+	 * typical projects need are cached before the first real request is served.
+	 * @param descriptions the descriptions of the projects to generate
+	 * @throws IOException if generation fails
+	 */
+	public void warmUp(ProjectDescription... descriptions) throws IOException {
+		for (ProjectDescription description : descriptions) {
+			generate(description, new InMemoryProjectOutput());
+		}
+	}
+
+	private AnnotationConfigApplicationContext createContext(
+			ProjectDescription description) {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.setParent(this.parentContext);
+		BeanDefinition configurationProcessor = context.getBeanDefinition(
+				AnnotationConfigUtils.CONFIGURATION_ANNOTATION_PROCESSOR_BEAN_NAME);
+		configurationProcessor.getPropertyValues().add("metadataReaderFactory",
+				this.parentContext.getBean(MetadataReaderFactory.class));
+		context.registerBean(ProjectDescription.class, () -> description);
+		if (this.sourceCodeExecutor != null) {
+			context.registerBean(SourceCodeWriter.EXECUTOR_BEAN_NAME, Executor.class,
+					() -> this.sourceCodeExecutor);
+		}
+		context.register(CoreConfiguration.class);
+		Class<?>[] configurations = this.plan.getConfigurations(description,
+				getConditionOutcomeCache());
+		if (configurations.length > 0) {
+			context.register(configurations);
+		}
+		context.refresh();
+		return context;
+	}
+
+	/**
+	 * Closes the parent context, releasing the metadata and caches that are shared by the
+	 * generations performed by this generator.
+	 */
+	@Override
+	public void close() {
+		this.parentContext.close();
+	}
+
+	/**
+	 * Load the classes configured in {@code spring.factories} using the
+	 * {@code io.spring.initializr.generator.ProjectGenerationConfiguration} key.
+	 * @param classLoader the class loader to use
+	 * @return the project generation configuration classes
+	 */
+	private static Class<?>[] loadConfigurations(ClassLoader classLoader) {
+		return SpringFactoriesLoader
+				.loadFactoryNames(ProjectGenerationConfiguration.class, classLoader)
+				.stream().map((name) -> ClassUtils.resolveClassName(name, classLoader))
+				.toArray(Class<?>[]::new);
+	}
+
+	/**
+	 * Configuration of the parent context that is shared by all generations.
 	 */
 	@Configuration
-	@Import(ProjectGenerationImportSelector.class)
-	static class CoreConfiguration {
+	static class SharedConfiguration {
 
 		@Bean
-		public FileContributors fileContributors(List<FileContributor> fileContributors) {
-			return new FileContributors(fileContributors);
+		public MetadataReaderFactory metadataReaderFactory() {
+			return new CachingMetadataReaderFactory(getClass().getClassLoader());
+		}
+
+		@Bean(ConditionOutcomeCache.BEAN_NAME)
+		public ConditionOutcomeCache conditionOutcomeCache() {
+			return new ConditionOutcomeCache(4096);
+		}
+
+		@Bean(SourceFragmentCache.BEAN_NAME)
+		public SourceFragmentCache sourceFragmentCache() {
+			return new SourceFragmentCache(256, 1024 * 1024);
+		}
+
+		@Bean(MainApplicationTypeCache.BEAN_NAME)
+		public MainApplicationTypeCache mainApplicationTypeCache() {
+			return new MainApplicationTypeCache();
 		}
 
 	}
 
 	/**
-	 * {@link ImportSelector} for loading classes configured in {@code spring.factories}
-	 * using the {@code io.spring.initializr.generator.ProjectGenerationConfiguration}
-	 * key.
+	 * Configuration used to bootstrap the application context used for project
+	 * generation.
 	 */
-	static class ProjectGenerationImportSelector implements ImportSelector {
+	@Configuration
+	static class CoreConfiguration {
 
-		@Override
-		public String[] selectImports(AnnotationMetadata importingClassMetadata) {
-			List<String> factories = SpringFactoriesLoader.loadFactoryNames(
-					ProjectGenerationConfiguration.class, getClass().getClassLoader());
-			return factories.toArray(new String[0]);
+		@Bean
+		public FileContributors fileContributors(List<FileContributor> fileContributors) {
+			return new FileContributors(fileContributors);
 		}
 
 	}
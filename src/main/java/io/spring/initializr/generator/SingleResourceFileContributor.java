@@ -16,24 +16,23 @@
 
 package io.spring.initializr.generator;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
-import org.springframework.util.FileCopyUtils;
+import io.spring.initializr.generator.output.ProjectOutput;
+import io.spring.initializr.generator.output.ProjectOutput.Option;
+import io.spring.initializr.generator.resource.ResourcePack;
 
 /**
  * {@link FileContributor} that contributes a single file, identified by a resource
- * pattern, to a generated project.
+ * pattern, to a generated project. The resource is read once and then served from the
+ * {@link ResourcePack}.
  *
  * @author Andy Wilkinson
- * @see PathMatchingResourcePatternResolver
  */
 public class SingleResourceFileContributor implements FileContributor {
 
-	private final PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+	private final ResourcePack resourcePack = ResourcePack
+			.get(getClass().getClassLoader());
 
 	private final String filename;
 
@@ -45,11 +44,19 @@ public class SingleResourceFileContributor implements FileContributor {
 	}
 
 	@Override
-	public void contribute(File projectRoot) throws IOException {
-		File output = new File(projectRoot, this.filename);
-		output.getParentFile().mkdirs();
-		Resource resource = this.resolver.getResource(this.resourcePattern);
-		FileCopyUtils.copy(resource.getInputStream(), new FileOutputStream(output, true));
+	public void contribute(ProjectOutput output) throws IOException {
+		output.write(this.filename, this.resourcePack.getResource(this.resourcePattern),
+				Option.APPEND);
+	}
+
+	/**
+	 * Returns the name of the file to which this contributor appends so that contributors
+	 * to the same file are invoked in order.
+	 * @return the name of the file
+	 */
+	@Override
+	public String getOrderingGroup() {
+		return this.filename;
 	}
 
 }
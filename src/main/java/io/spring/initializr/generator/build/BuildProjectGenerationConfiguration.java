@@ -34,10 +34,16 @@ import org.springframework.core.annotation.Order;
 @ProjectGenerationConfiguration
 public class BuildProjectGenerationConfiguration {
 
+	private static final Dependency SPRING_BOOT_STARTER = new Dependency(
+			"org.springframework.boot", "spring-boot-starter", DependencyType.COMPILE);
+
+	private static final Dependency SPRING_BOOT_STARTER_TEST = new Dependency(
+			"org.springframework.boot", "spring-boot-starter-test",
+			DependencyType.TEST_COMPILE);
+
 	@Bean
 	public BuildCustomizer<Build> testStarterContributor() {
-		return (build) -> build.addDependency("org.springframework.boot",
-				"spring-boot-starter-test", DependencyType.TEST_COMPILE);
+		return (build) -> build.addDependency(SPRING_BOOT_STARTER_TEST);
 	}
 
 	@Bean
@@ -52,9 +58,9 @@ public class BuildProjectGenerationConfiguration {
 	@Order(Ordered.LOWEST_PRECEDENCE)
 	public BuildCustomizer<Build> defaultStarterContributor() {
 		return (build) -> {
-			if (build.getDependencies().stream().noneMatch(this::isSpringBootStarter)) {
-				build.addDependency("org.springframework.boot", "spring-boot-starter",
-						DependencyType.COMPILE);
+			if (build.dependencies().getByGroup("org.springframework.boot").stream()
+					.noneMatch(this::isSpringBootStarter)) {
+				build.addDependency(SPRING_BOOT_STARTER);
 			}
 		};
 	}
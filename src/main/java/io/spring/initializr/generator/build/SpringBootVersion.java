@@ -0,0 +1,36 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.build;
+
+/**
+ * The version of Spring Boot used by generated projects, shared by the build system
+ * specific contributors so that Maven and Gradle projects are kept in step.
+ *
+ * @author Andy Wilkinson
+ */
+public final class SpringBootVersion {
+
+	/**
+	 * The Spring Boot version, used as the version of the parent of a Maven project and
+	 * of the Spring Boot plugin of a Gradle project.
+	 */
+	public static final String VERSION = "2.1.0.RELEASE";
+
+	private SpringBootVersion() {
+	}
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.build.gradle;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+import io.spring.initializr.generator.Dependency;
+import io.spring.initializr.generator.DependencyType;
+import io.spring.initializr.generator.buildsystem.gradle.GradleBuild;
+import io.spring.initializr.generator.buildsystem.gradle.GradleBuild.TaskCustomization;
+import io.spring.initializr.generator.buildsystem.gradle.GradleBuild.TaskCustomization.Invocation;
+import io.spring.initializr.generator.buildsystem.gradle.GradlePlugin;
+import io.spring.initializr.generator.util.SegmentBuffer;
+
+/**
+ * Writes the {@code settings.gradle} and {@code build.gradle} files of a
+ * {@link GradleBuild}. The fixed parts of each file are encoded once and the files are
+ * assembled in a pooled {@link SegmentBuffer} before being written with a single call.
+ *
+ * @author Andy Wilkinson
+ */
+class GradleBuildWriter {
+
+	private static final String NEW_LINE = "\n";
+
+	private static final byte[] NEW_LINE_SEGMENT = SegmentBuffer.segment(NEW_LINE);
+
+	private static final byte[] ROOT_PROJECT_NAME = SegmentBuffer
+			.segment("rootProject.name = '");
+
+	private static final byte[] QUOTE_NEW_LINE = SegmentBuffer.segment("'" + NEW_LINE);
+
+	private static final byte[] PLUGINS_START = SegmentBuffer
+			.segment("plugins {" + NEW_LINE);
+
+	private static final byte[] PLUGIN_ID = SegmentBuffer.segment("    id '");
+
+	private static final byte[] PLUGIN_VERSION = SegmentBuffer.segment("' version '");
+
+	private static final byte[] BLOCK_END = SegmentBuffer
+			.segment("}" + NEW_LINE + NEW_LINE);
+
+	private static final byte[] APPLY_PLUGIN = SegmentBuffer.segment("apply plugin: '");
+
+	private static final byte[] GROUP = SegmentBuffer.segment("group = '");
+
+	private static final byte[] VERSION = SegmentBuffer.segment("version = '");
+
+	private static final byte[] SOURCE_COMPATIBILITY = SegmentBuffer
+			.segment("sourceCompatibility = '");
+
+	private static final byte[] REPOSITORIES = SegmentBuffer.segment("repositories {"
+			+ NEW_LINE + "    mavenCentral()" + NEW_LINE + "}" + NEW_LINE + NEW_LINE);
+
+	private static final byte[] DEPENDENCIES_START = SegmentBuffer
+			.segment("dependencies {" + NEW_LINE);
+
+	private static final byte[] INDENT = SegmentBuffer.segment("    ");
+
+	private static final byte[] SPACE = SegmentBuffer.segment(" ");
+
+	private static final byte[] SPACE_QUOTE = SegmentBuffer.segment(" '");
+
+	private static final byte[] COLON = SegmentBuffer.segment(":");
+
+	private static final byte[] COMMA_SPACE = SegmentBuffer.segment(", ");
+
+	private static final byte[] BLOCK_START = SegmentBuffer.segment(" {" + NEW_LINE);
+
+	private static final byte[][] CONFIGURATIONS = createConfigurations();
+
+	void writeSettings(GradleBuild build, OutputStream output) throws IOException {
+		SegmentBuffer buffer = SegmentBuffer.acquire();
+		try {
+			buffer.append(ROOT_PROJECT_NAME).append(build.getName())
+					.append(QUOTE_NEW_LINE);
+			buffer.writeTo(output);
+		}
+		finally {
+			buffer.release();
+		}
+	}
+
+	void writeBuild(GradleBuild build, OutputStream output) throws IOException {
+		SegmentBuffer buffer = SegmentBuffer.acquire();
+		try {
+			writePlugins(buffer, build);
+			buffer.append(GROUP).append(build.getGroup()).append(QUOTE_NEW_LINE);
+			buffer.append(VERSION).append(build.getVersion()).append(QUOTE_NEW_LINE);
+			buffer.append(SOURCE_COMPATIBILITY).append(build.getJavaVersion())
+					.append(QUOTE_NEW_LINE);
+			buffer.append(NEW_LINE_SEGMENT);
+			buffer.append(REPOSITORIES);
+			writeDependencies(buffer, build);
+			writeTaskCustomizations(buffer, build);
+			buffer.append(NEW_LINE_SEGMENT);
+			buffer.writeTo(output);
+		}
+		finally {
+			buffer.release();
+		}
+	}
+
+	private void writePlugins(SegmentBuffer buffer, GradleBuild build) {
+		buffer.append(PLUGINS_START);
+		for (GradlePlugin plugin : build.getPlugins()) {
+			buffer.append(PLUGIN_ID).append(plugin.getId());
+			if (plugin.getVersion() != null) {
+				buffer.append(PLUGIN_VERSION).append(plugin.getVersion());
+			}
+			buffer.append(QUOTE_NEW_LINE);
+		}
+		buffer.append(BLOCK_END);
+		for (String plugin : build.getAdditionalPluginApplications()) {
+			buffer.append(APPLY_PLUGIN).append(plugin).append(QUOTE_NEW_LINE);
+		}
+		buffer.append(NEW_LINE_SEGMENT);
+	}
+
+	private void writeDependencies(SegmentBuffer buffer, GradleBuild build) {
+		buffer.append(DEPENDENCIES_START);
+		for (Dependency dependency : build.dependencies().getSorted()) {
+			buffer.append(INDENT).append(configurationForType(dependency.getType()))
+					.append(SPACE_QUOTE).append(dependency.getGroupId()).append(COLON)
+					.append(dependency.getArtifactId()).append(QUOTE_NEW_LINE);
+		}
+		buffer.append(BLOCK_END);
+	}
+
+	private void writeTaskCustomizations(SegmentBuffer buffer, GradleBuild build) {
+		Map<String, List<TaskCustomization>> taskCustomizations = build
+				.getTaskCustomizations();
+		taskCustomizations.forEach((name, customizations) -> {
+			buffer.append(name).append(BLOCK_START);
+			for (TaskCustomization customization : customizations) {
+				for (Invocation invocation : customization.getInvocations()) {
+					writeInvocation(buffer, invocation);
+				}
+			}
+			buffer.append(BLOCK_END);
+		});
+	}
+
+	private void writeInvocation(SegmentBuffer buffer, Invocation invocation) {
+		buffer.append(INDENT).append(invocation.getTarget()).append(SPACE);
+		List<String> arguments = invocation.getArguments();
+		for (int i = 0; i < arguments.size(); i++) {
+			if (i > 0) {
+				buffer.append(COMMA_SPACE);
+			}
+			buffer.append(arguments.get(i));
+		}
+		buffer.append(NEW_LINE_SEGMENT);
+	}
+
+	private byte[] configurationForType(DependencyType type) {
+		return CONFIGURATIONS[type.ordinal()];
+	}
+
+	private static byte[][] createConfigurations() {
+		DependencyType[] types = DependencyType.values();
+		byte[][] configurations = new byte[types.length][];
+		for (DependencyType type : types) {
+			configurations[type.ordinal()] = SegmentBuffer
+					.segment(configurationName(type));
+		}
+		return configurations;
+	}
+
+	private static String configurationName(DependencyType type) {
+		switch (type) {
+		case ANNOTATION_PROCESSOR:
+			return "annotationProcessor";
+		case COMPILE:
+			return "implementation";
+		case RUNTIME:
+			return "runtimeOnly";
+		case TEST_COMPILE:
+			return "testImplementation";
+		case TEST_RUNTIME:
+			return "testRuntimeOnly";
+		default:
+			throw new IllegalStateException("Unrecognized dependenc type '" + type + "'");
+		}
+	}
+
+}
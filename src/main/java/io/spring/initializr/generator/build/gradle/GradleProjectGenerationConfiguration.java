@@ -18,6 +18,7 @@ package io.spring.initializr.generator.build.gradle;
 
 import io.spring.initializr.generator.ProjectDescription;
 import io.spring.initializr.generator.build.BuildCustomizer;
+import io.spring.initializr.generator.build.SpringBootVersion;
 import io.spring.initializr.generator.buildsystem.gradle.ConditionalOnGradle;
 import io.spring.initializr.generator.buildsystem.gradle.GradleBuild;
 import io.spring.initializr.generator.git.GitIgnoreContributor;
@@ -66,7 +67,7 @@ public class GradleProjectGenerationConfiguration {
 	@Bean
 	public BuildCustomizer<GradleBuild> springBootPluginContributor() {
 		return (gradleBuild) -> {
-			gradleBuild.addPlugin("org.springframework.boot", "2.1.0.RELEASE");
+			gradleBuild.addPlugin("org.springframework.boot", SpringBootVersion.VERSION);
 			gradleBuild.applyPlugin("io.spring.dependency-management");
 		};
 	}
@@ -27,7 +27,7 @@ import io.spring.initializr.generator.MultipleResourcesFileContributor;
 class GradleWrapperContributor extends MultipleResourcesFileContributor {
 
 	GradleWrapperContributor() {
-		super("classpath:gradle/wrapper");
+		super("classpath:gradle/wrapper", "gradlew"::equals);
 	}
 
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.build.maven;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.spring.initializr.generator.FileContributor;
+import io.spring.initializr.generator.ProjectDescription;
+import io.spring.initializr.generator.build.BuildCustomizer;
+import io.spring.initializr.generator.buildsystem.Build;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuild;
+import io.spring.initializr.generator.output.ProjectOutput;
+import io.spring.initializr.generator.util.LambdaSafe;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * {@link FileContributor} to contribute the files for a {@link MavenBuild}.
+ *
+ * @author Andy Wilkinson
+ */
+class MavenBuildFileContributor implements FileContributor {
+
+	private static final MavenBuildWriter writer = new MavenBuildWriter();
+
+	private final ProjectDescription projectDescription;
+
+	private final ObjectProvider<BuildCustomizer<?>> buildCustomizers;
+
+	MavenBuildFileContributor(ProjectDescription projectDescription,
+			ObjectProvider<BuildCustomizer<?>> buildCustomizers) {
+		this.projectDescription = projectDescription;
+		this.buildCustomizers = buildCustomizers;
+	}
+
+	@Override
+	public void contribute(ProjectOutput output) throws IOException {
+		MavenBuild build = new MavenBuild();
+		build.setGroup(this.projectDescription.getGroupId());
+		build.setName(this.projectDescription.getArtifactId());
+		customizeBuild(build);
+		try (OutputStream stream = output.newOutputStream("pom.xml")) {
+			writer.writePom(build, stream);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void customizeBuild(MavenBuild mavenBuild) {
+		List<BuildCustomizer<? extends Build>> customizers = this.buildCustomizers
+				.orderedStream().collect(Collectors.toList());
+		LambdaSafe.callbacks(BuildCustomizer.class, customizers, mavenBuild)
+				.invoke((customizer) -> customizer.customize(mavenBuild));
+	}
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.build.maven;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import io.spring.initializr.generator.Dependency;
+import io.spring.initializr.generator.DependencyType;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuild;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuild.MavenParent;
+import io.spring.initializr.generator.buildsystem.maven.MavenPlugin;
+
+/**
+ * Writes the {@code pom.xml} of a {@link MavenBuild}. The POM is streamed to its output
+ * using an {@link XMLStreamWriter} without building a document in memory.
+ *
+ * @author Andy Wilkinson
+ */
+class MavenBuildWriter {
+
+	private static final String NEW_LINE = "\n";
+
+	private static final String POM_NAMESPACE = "http://maven.apache.org/POM/4.0.0";
+
+	private static final String XSI_NAMESPACE = "http://www.w3.org/2001/XMLSchema-instance";
+
+	private static final String SCHEMA_LOCATION = POM_NAMESPACE
+			+ " http://maven.apache.org/xsd/maven-4.0.0.xsd";
+
+	private static final XMLOutputFactory outputFactory = XMLOutputFactory.newInstance();
+
+	void writePom(MavenBuild build, OutputStream output) throws IOException {
+		try {
+			XMLStreamWriter writer = outputFactory.createXMLStreamWriter(output, "UTF-8");
+			writer.writeStartDocument("UTF-8", "1.0");
+			writer.writeCharacters(NEW_LINE);
+			writer.writeStartElement("project");
+			writer.writeDefaultNamespace(POM_NAMESPACE);
+			writer.writeNamespace("xsi", XSI_NAMESPACE);
+			writer.writeAttribute("xsi", XSI_NAMESPACE, "schemaLocation",
+					SCHEMA_LOCATION);
+			writeElement(writer, 1, "modelVersion", "4.0.0");
+			writeParent(writer, build.getParent());
+			writeElement(writer, 1, "groupId", build.getGroup());
+			writeElement(writer, 1, "artifactId", build.getName());
+			writeElement(writer, 1, "version", build.getVersion());
+			writeProperties(writer, build);
+			writeDependencies(writer, build);
+			writePlugins(writer, build.getPlugins());
+			writer.writeCharacters(NEW_LINE);
+			writer.writeEndElement();
+			writer.writeCharacters(NEW_LINE);
+			writer.writeEndDocument();
+			writer.flush();
+			writer.close();
+		}
+		catch (XMLStreamException ex) {
+			throw new IOException("Failed to write pom.xml", ex);
+		}
+	}
+
+	private void writeParent(XMLStreamWriter writer, MavenParent parent)
+			throws XMLStreamException {
+		if (parent == null) {
+			return;
+		}
+		startElement(writer, 1, "parent");
+		writeElement(writer, 2, "groupId", parent.getGroupId());
+		writeElement(writer, 2, "artifactId", parent.getArtifactId());
+		writeElement(writer, 2, "version", parent.getVersion());
+		writeElement(writer, 2, "relativePath", null);
+		endElement(writer, 1);
+	}
+
+	private void writeProperties(XMLStreamWriter writer, MavenBuild build)
+			throws XMLStreamException {
+		startElement(writer, 1, "properties");
+		writeElement(writer, 2, "java.version", build.getJavaVersion());
+		for (Map.Entry<String, String> property : build.getProperties().entrySet()) {
+			writeElement(writer, 2, property.getKey(), property.getValue());
+		}
+		endElement(writer, 1);
+	}
+
+	private void writeDependencies(XMLStreamWriter writer, MavenBuild build)
+			throws XMLStreamException {
+		if (build.getDependencies().isEmpty()) {
+			return;
+		}
+		startElement(writer, 1, "dependencies");
+		for (Dependency dependency : build.dependencies().getSorted()) {
+			startElement(writer, 2, "dependency");
+			writeElement(writer, 3, "groupId", dependency.getGroupId());
+			writeElement(writer, 3, "artifactId", dependency.getArtifactId());
+			String scope = scopeForType(dependency.getType());
+			if (scope != null) {
+				writeElement(writer, 3, "scope", scope);
+			}
+			if (dependency.getType() == DependencyType.ANNOTATION_PROCESSOR) {
+				writeElement(writer, 3, "optional", "true");
+			}
+			endElement(writer, 2);
+		}
+		endElement(writer, 1);
+	}
+
+	private void writePlugins(XMLStreamWriter writer, List<MavenPlugin> plugins)
+			throws XMLStreamException {
+		if (plugins.isEmpty()) {
+			return;
+		}
+		startElement(writer, 1, "build");
+		startElement(writer, 2, "plugins");
+		for (MavenPlugin plugin : plugins) {
+			startElement(writer, 3, "plugin");
+			writeElement(writer, 4, "groupId", plugin.getGroupId());
+			writeElement(writer, 4, "artifactId", plugin.getArtifactId());
+			if (plugin.getVersion() != null) {
+				writeElement(writer, 4, "version", plugin.getVersion());
+			}
+			endElement(writer, 3);
+		}
+		endElement(writer, 2);
+		endElement(writer, 1);
+	}
+
+	private void startElement(XMLStreamWriter writer, int depth, String name)
+			throws XMLStreamException {
+		indent(writer, depth);
+		writer.writeStartElement(name);
+	}
+
+	private void endElement(XMLStreamWriter writer, int depth) throws XMLStreamException {
+		indent(writer, depth);
+		writer.writeEndElement();
+	}
+
+	private void writeElement(XMLStreamWriter writer, int depth, String name,
+			String value) throws XMLStreamException {
+		indent(writer, depth);
+		if (value == null) {
+			writer.writeEmptyElement(name);
+		}
+		else {
+			writer.writeStartElement(name);
+			writer.writeCharacters(value);
+			writer.writeEndElement();
+		}
+	}
+
+	private void indent(XMLStreamWriter writer, int depth) throws XMLStreamException {
+		writer.writeCharacters(NEW_LINE);
+		for (int i = 0; i < depth; i++) {
+			writer.writeCharacters("\t");
+		}
+	}
+
+	private String scopeForType(DependencyType type) {
+		switch (type) {
+		case ANNOTATION_PROCESSOR:
+		case COMPILE:
+			return null;
+		case RUNTIME:
+			return "runtime";
+		case TEST_COMPILE:
+		case TEST_RUNTIME:
+			return "test";
+		default:
+			throw new IllegalStateException(
+					"Unrecognized dependency type '" + type + "'");
+		}
+	}
+
+}
@@ -16,10 +16,15 @@
 
 package io.spring.initializr.generator.build.maven;
 
+import io.spring.initializr.generator.ProjectDescription;
 import io.spring.initializr.generator.ProjectGenerationConfiguration;
+import io.spring.initializr.generator.build.BuildCustomizer;
+import io.spring.initializr.generator.build.SpringBootVersion;
 import io.spring.initializr.generator.buildsystem.maven.ConditionalOnMaven;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuild;
 import io.spring.initializr.generator.git.GitIgnoreContributor;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
@@ -45,4 +50,23 @@ public class MavenProjectGenerationConfiguration {
 		return new GitIgnoreContributor("classpath:maven/gitignore");
 	}
 
+	@Bean
+	public MavenBuildFileContributor mavenBuildFileContributor(
+			ProjectDescription projectDescription,
+			ObjectProvider<BuildCustomizer<?>> buildCustomizers) {
+		return new MavenBuildFileContributor(projectDescription, buildCustomizers);
+	}
+
+	@Bean
+	public BuildCustomizer<MavenBuild> springBootParentContributor() {
+		return (mavenBuild) -> mavenBuild.parent("org.springframework.boot",
+				"spring-boot-starter-parent", SpringBootVersion.VERSION);
+	}
+
+	@Bean
+	public BuildCustomizer<MavenBuild> springBootMavenPluginContributor() {
+		return (mavenBuild) -> mavenBuild.addPlugin("org.springframework.boot",
+				"spring-boot-maven-plugin");
+	}
+
 }
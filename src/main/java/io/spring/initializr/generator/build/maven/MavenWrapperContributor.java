@@ -27,7 +27,7 @@ import io.spring.initializr.generator.MultipleResourcesFileContributor;
 class MavenWrapperContributor extends MultipleResourcesFileContributor {
 
 	MavenWrapperContributor() {
-		super("classpath:maven/wrapper");
+		super("classpath:maven/wrapper", "mvnw"::equals);
 	}
 
 }
@@ -16,8 +16,6 @@
 
 package io.spring.initializr.generator.buildsystem;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import io.spring.initializr.generator.Dependency;
@@ -30,7 +28,7 @@ import io.spring.initializr.generator.DependencyType;
  */
 public abstract class Build {
 
-	private final List<Dependency> dependencies = new ArrayList<>();
+	private final DependencyContainer dependencies = new DependencyContainer();
 
 	private String group;
 
@@ -66,15 +64,33 @@ public abstract class Build {
 		this.dependencies.add(dependency);
 	}
 
+	/**
+	 * Adds a dependency with the given coordinates and type unless the build already has
+	 * such a dependency.
+	 * @param groupId the group ID
+	 * @param artifactId the artifact ID
+	 * @param dependencyType the type
+	 * @return the dependency in the build
+	 */
 	public Dependency addDependency(String groupId, String artifactId,
 			DependencyType dependencyType) {
-		Dependency dependency = new Dependency(groupId, artifactId, dependencyType);
-		this.dependencies.add(dependency);
-		return dependency;
+		return this.dependencies.add(groupId, artifactId, dependencyType);
 	}
 
+	/**
+	 * Returns the dependencies of the build in the order in which they were added.
+	 * @return the dependencies
+	 */
 	public List<Dependency> getDependencies() {
-		return Collections.unmodifiableList(this.dependencies);
+		return this.dependencies.getAll();
+	}
+
+	/**
+	 * Returns the indexed dependencies of the build.
+	 * @return the dependency container
+	 */
+	public DependencyContainer dependencies() {
+		return this.dependencies;
 	}
 
 	public String getJavaVersion() {
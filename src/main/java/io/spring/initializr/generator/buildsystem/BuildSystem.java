@@ -16,12 +16,8 @@
 
 package io.spring.initializr.generator.buildsystem;
 
-import java.io.File;
-import java.util.Objects;
-
 import io.spring.initializr.generator.language.Language;
-
-import org.springframework.core.io.support.SpringFactoriesLoader;
+import io.spring.initializr.generator.util.FactoriesRegistry;
 
 /**
  * A build system that can be used by a generated project.
@@ -36,18 +32,38 @@ public interface BuildSystem {
 	 */
 	String id();
 
+	/**
+	 * Returns the build system with the given {@code id}. The {@link BuildSystemFactory
+	 * factories} are loaded once and the resolved build systems are cached.
+	 * @param id the id of the build system
+	 * @return the build system
+	 * @throws IllegalStateException if the id is not recognized
+	 * @see FactoriesRegistry
+	 */
 	static BuildSystem forId(String id) {
-		return SpringFactoriesLoader
-				.loadFactories(BuildSystemFactory.class,
-						BuildSystem.class.getClassLoader())
-				.stream().map((factory) -> factory.createBuildSystem(id))
-				.filter(Objects::nonNull).findFirst()
-				.orElseThrow(() -> new IllegalStateException(
-						"Unrecognized build system id '" + id + "'"));
+		BuildSystem buildSystem = FactoriesRegistry
+				.get(BuildSystemFactory.class, BuildSystem.class.getClassLoader())
+				.resolve(id, BuildSystemFactory::createBuildSystem);
+		if (buildSystem == null) {
+			throw new IllegalStateException("Unrecognized build system id '" + id + "'");
+		}
+		return buildSystem;
 	}
 
-	File getMainDirectory(File projectRoot, Language language);
+	/**
+	 * Returns the path, relative to the root of the project, of the directory that
+	 * contains the main source code written in the given {@code language}.
+	 * @param language the language
+	 * @return the main source directory
+	 */
+	String getMainDirectory(Language language);
 
-	File getTestDirectory(File projectRoot, Language language);
+	/**
+	 * Returns the path, relative to the root of the project, of the directory that
+	 * contains the test source code written in the given {@code language}.
+	 * @param language the language
+	 * @return the test source directory
+	 */
+	String getTestDirectory(Language language);
 
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.buildsystem;
+
+import java.util.Comparator;
+
+import io.spring.initializr.generator.Dependency;
+
+/**
+ * The order in which a build's dependencies are written to its build file: by
+ * {@link io.spring.initializr.generator.DependencyType type}, then by group ID, and then
+ * by artifact ID.
+ *
+ * @author Andy Wilkinson
+ */
+public final class DependencyComparator implements Comparator<Dependency> {
+
+	/**
+	 * The shared instance of the comparator.
+	 */
+	public static final DependencyComparator INSTANCE = new DependencyComparator();
+
+	private DependencyComparator() {
+	}
+
+	@Override
+	public int compare(Dependency one, Dependency two) {
+		int typeComparison = Integer.compare(one.getType().ordinal(),
+				two.getType().ordinal());
+		if (typeComparison != 0) {
+			return typeComparison;
+		}
+		int groupComparison = one.getGroupId().compareTo(two.getGroupId());
+		if (groupComparison != 0) {
+			return groupComparison;
+		}
+		return one.getArtifactId().compareTo(two.getArtifactId());
+	}
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.buildsystem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import io.spring.initializr.generator.Dependency;
+import io.spring.initializr.generator.DependencyType;
+
+/**
+ * The dependencies of a {@link Build}, in insertion order, indexed by their coordinates,
+ * group, and type. The container also keeps the dependencies sorted by
+ * {@link DependencyComparator} so that build files can be written without sorting. Adding
+ * a dependency whose group ID, artifact ID, and type match those of a dependency that has
+ * already been added has no effect.
+ *
+ * @author Andy Wilkinson
+ */
+public class DependencyContainer {
+
+	private final Map<String, Map<String, Map<DependencyType, Dependency>>> byCoordinates = new HashMap<>();
+
+	private final Map<String, List<Dependency>> byGroup = new HashMap<>();
+
+	private final Map<DependencyType, List<Dependency>> byType = new EnumMap<>(
+			DependencyType.class);
+
+	private final List<Dependency> dependencies = new ArrayList<>();
+
+	private final NavigableSet<Dependency> sorted = new TreeSet<>(
+			DependencyComparator.INSTANCE);
+
+	/**
+	 * Adds the given {@code dependency} unless an equivalent dependency has already been
+	 * added.
+	 * @param dependency the dependency to add
+	 * @return the dependency that is in the container, either the given
+	 * {@code dependency} or the equivalent dependency that was already present
+	 */
+	public Dependency add(Dependency dependency) {
+		Map<DependencyType, Dependency> byType = byType(dependency.getGroupId(),
+				dependency.getArtifactId());
+		Dependency existing = byType.putIfAbsent(dependency.getType(), dependency);
+		if (existing != null) {
+			return existing;
+		}
+		index(dependency);
+		return dependency;
+	}
+
+	/**
+	 * Adds a dependency with the given coordinates and type unless an equivalent
+	 * dependency has already been added. A new {@link Dependency} is only created when
+	 * the container does not already hold one.
+	 * @param groupId the group ID
+	 * @param artifactId the artifact ID
+	 * @param type the type
+	 * @return the dependency that is in the container
+	 */
+	public Dependency add(String groupId, String artifactId, DependencyType type) {
+		Map<DependencyType, Dependency> byType = byType(groupId, artifactId);
+		Dependency existing = byType.get(type);
+		if (existing != null) {
+			return existing;
+		}
+		Dependency dependency = new Dependency(groupId, artifactId, type);
+		byType.put(type, dependency);
+		index(dependency);
+		return dependency;
+	}
+
+	private Map<DependencyType, Dependency> byType(String groupId, String artifactId) {
+		return this.byCoordinates.computeIfAbsent(groupId, (group) -> new HashMap<>())
+				.computeIfAbsent(artifactId,
+						(artifact) -> new EnumMap<>(DependencyType.class));
+	}
+
+	private void index(Dependency dependency) {
+		this.dependencies.add(dependency);
+		this.sorted.add(dependency);
+		this.byGroup
+				.computeIfAbsent(dependency.getGroupId(), (group) -> new ArrayList<>())
+				.add(dependency);
+		this.byType.computeIfAbsent(dependency.getType(), (type) -> new ArrayList<>())
+				.add(dependency);
+	}
+
+	/**
+	 * Returns whether the container holds a dependency with the given coordinates and
+	 * type.
+	 * @param groupId the group ID
+	 * @param artifactId the artifact ID
+	 * @param type the type
+	 * @return {@code true} if the dependency is present
+	 */
+	public boolean has(String groupId, String artifactId, DependencyType type) {
+		return get(groupId, artifactId, type) != null;
+	}
+
+	/**
+	 * Returns the dependency with the given coordinates and type.
+	 * @param groupId the group ID
+	 * @param artifactId the artifact ID
+	 * @param type the type
+	 * @return the dependency or {@code null}
+	 */
+	public Dependency get(String groupId, String artifactId, DependencyType type) {
+		Map<String, Map<DependencyType, Dependency>> byArtifact = this.byCoordinates
+				.get(groupId);
+		Map<DependencyType, Dependency> byType = (byArtifact != null)
+				? byArtifact.get(artifactId) : null;
+		return (byType != null) ? byType.get(type) : null;
+	}
+
+	/**
+	 * Returns all of the dependencies in the order in which they were added.
+	 * @return the dependencies
+	 */
+	public List<Dependency> getAll() {
+		return Collections.unmodifiableList(this.dependencies);
+	}
+
+	/**
+	 * Returns all of the dependencies in the order in which they should be written to a
+	 * build file.
+	 * @return the dependencies ordered by {@link DependencyComparator}
+	 */
+	public SortedSet<Dependency> getSorted() {
+		return Collections.unmodifiableSortedSet(this.sorted);
+	}
+
+	/**
+	 * Returns the dependencies in the given group, in the order in which they were added.
+	 * @param groupId the group ID
+	 * @return the dependencies in the group
+	 */
+	public List<Dependency> getByGroup(String groupId) {
+		return unmodifiable(this.byGroup.get(groupId));
+	}
+
+	/**
+	 * Returns the dependencies of the given type, in the order in which they were added.
+	 * @param type the type
+	 * @return the dependencies of the type
+	 */
+	public List<Dependency> getByType(DependencyType type) {
+		return unmodifiable(this.byType.get(type));
+	}
+
+	/**
+	 * Returns the number of dependencies in the container.
+	 * @return the number of dependencies
+	 */
+	public int size() {
+		return this.dependencies.size();
+	}
+
+	public boolean isEmpty() {
+		return this.dependencies.isEmpty();
+	}
+
+	private List<Dependency> unmodifiable(List<Dependency> dependencies) {
+		return (dependencies != null) ? Collections.unmodifiableList(dependencies)
+				: Collections.emptyList();
+	}
+
+}
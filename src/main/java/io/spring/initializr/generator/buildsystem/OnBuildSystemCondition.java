@@ -40,4 +40,10 @@ class OnBuildSystemCondition extends ProjectGenerationCondition {
 		return projectDescription.getBuildSystem().id().equals(buildSystem.id());
 	}
 
+	@Override
+	protected Object getOutcomeCacheKey(ProjectDescription projectDescription) {
+		BuildSystem buildSystem = projectDescription.getBuildSystem();
+		return (buildSystem != null) ? buildSystem.id() : null;
+	}
+
 }
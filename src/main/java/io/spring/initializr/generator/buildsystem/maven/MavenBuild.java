@@ -16,6 +16,12 @@
 
 package io.spring.initializr.generator.buildsystem.maven;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import io.spring.initializr.generator.buildsystem.Build;
 
 /**
@@ -25,4 +31,71 @@ import io.spring.initializr.generator.buildsystem.Build;
  */
 public class MavenBuild extends Build {
 
+	private final Map<String, String> properties = new LinkedHashMap<>();
+
+	private final List<MavenPlugin> plugins = new ArrayList<>();
+
+	private MavenParent parent;
+
+	public MavenParent getParent() {
+		return this.parent;
+	}
+
+	public void parent(String groupId, String artifactId, String version) {
+		this.parent = new MavenParent(groupId, artifactId, version);
+	}
+
+	public void setProperty(String name, String value) {
+		this.properties.put(name, value);
+	}
+
+	public Map<String, String> getProperties() {
+		return Collections.unmodifiableMap(this.properties);
+	}
+
+	public MavenPlugin addPlugin(String groupId, String artifactId) {
+		return addPlugin(groupId, artifactId, null);
+	}
+
+	public MavenPlugin addPlugin(String groupId, String artifactId, String version) {
+		MavenPlugin plugin = new MavenPlugin(groupId, artifactId, version);
+		this.plugins.add(plugin);
+		return plugin;
+	}
+
+	public List<MavenPlugin> getPlugins() {
+		return Collections.unmodifiableList(this.plugins);
+	}
+
+	/**
+	 * The parent of a {@link MavenBuild}.
+	 */
+	public static class MavenParent {
+
+		private final String groupId;
+
+		private final String artifactId;
+
+		private final String version;
+
+		MavenParent(String groupId, String artifactId, String version) {
+			this.groupId = groupId;
+			this.artifactId = artifactId;
+			this.version = version;
+		}
+
+		public String getGroupId() {
+			return this.groupId;
+		}
+
+		public String getArtifactId() {
+			return this.artifactId;
+		}
+
+		public String getVersion() {
+			return this.version;
+		}
+
+	}
+
 }
@@ -16,8 +16,6 @@
 
 package io.spring.initializr.generator.buildsystem.maven;
 
-import java.io.File;
-
 import io.spring.initializr.generator.buildsystem.BuildSystem;
 import io.spring.initializr.generator.language.Language;
 
@@ -36,13 +34,13 @@ public class MavenBuildSystem implements BuildSystem {
 	}
 
 	@Override
-	public File getMainDirectory(File projectRoot, Language language) {
-		return new File(projectRoot, "src/main/" + language.id());
+	public String getMainDirectory(Language language) {
+		return "src/main/" + language.id();
 	}
 
 	@Override
-	public File getTestDirectory(File projectRoot, Language language) {
-		return new File(projectRoot, "src/test" + language.id());
+	public String getTestDirectory(Language language) {
+		return "src/test/" + language.id();
 	}
 
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.spring.initializr.generator.ProjectDescription;
+import io.spring.initializr.generator.ProjectGenerator;
+import io.spring.initializr.generator.output.ArchiveFormat;
+import io.spring.initializr.generator.output.ArchiveProjectOutput;
+import io.spring.initializr.generator.util.SingleFlight;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Generates project archives, serving repeated requests for the same project from a
+ * {@link ProjectArchiveCache}. Archives are identified by the
+ * {@link ProjectDescriptionFingerprint fingerprint} of their description.
+ * <p>
+ * When a {@link ProjectArchiveStore} is configured, archives that are not cached locally
+ * are looked up in the store before being generated, and newly generated archives are
+ * added to it, allowing several generator nodes to share their work. Concurrent requests
+ * for the same archive are coalesced so that it is generated, or loaded from the store,
+ * only once.
+ *
+ * @author Andy Wilkinson
+ */
+public class CachingProjectArchiveGenerator {
+
+	private static final Log logger = LogFactory
+			.getLog(CachingProjectArchiveGenerator.class);
+
+	private final ProjectGenerator generator;
+
+	private final ArchiveFormat format;
+
+	private final ProjectArchiveCache cache;
+
+	private final ProjectArchiveStore store;
+
+	private final SingleFlight<String, byte[]> inFlight = new SingleFlight<>();
+
+	private final AtomicLong localHitCount = new AtomicLong();
+
+	private final AtomicLong sharedHitCount = new AtomicLong();
+
+	private final AtomicLong generationCount = new AtomicLong();
+
+	private final AtomicLong storeReadFailureCount = new AtomicLong();
+
+	private final AtomicLong storeWriteFailureCount = new AtomicLong();
+
+	public CachingProjectArchiveGenerator(ProjectGenerator generator,
+			ArchiveFormat format, ProjectArchiveCache cache) {
+		this(generator, format, cache, null);
+	}
+
+	public CachingProjectArchiveGenerator(ProjectGenerator generator,
+			ArchiveFormat format, ProjectArchiveCache cache, ProjectArchiveStore store) {
+		this.generator = generator;
+		this.format = format;
+		this.cache = cache;
+		this.store = store;
+	}
+
+	/**
+	 * Returns the archive of the project described by the given {@code description},
+	 * generating it only if it is not already cached. The returned array is shared and
+	 * must not be modified.
+	 * @param description the description of the project
+	 * @return the archive
+	 * @throws IOException if generation fails
+	 */
+	public byte[] generate(ProjectDescription description) throws IOException {
+		String key = getKey(description);
+		byte[] archive = this.cache.get(key);
+		if (archive != null) {
+			this.localHitCount.incrementAndGet();
+			return archive;
+		}
+		try {
+			return this.inFlight.execute(key, () -> loadOrGenerate(key, description));
+		}
+		catch (IOException | RuntimeException ex) {
+			throw ex;
+		}
+		catch (ExecutionException ex) {
+			throw new IOException("Failed to generate archive '" + key + "': "
+					+ ex.getCause().getMessage(), ex.getCause());
+		}
+		catch (Exception ex) {
+			throw new IOException("Failed to generate archive '" + key + "'", ex);
+		}
+	}
+
+	/**
+	 * Writes the archive of the project described by the given {@code description} to the
+	 * given {@code output}, generating it only if it is not already cached.
+	 * @param description the description of the project
+	 * @param output the stream to write the archive to
+	 * @throws IOException if generation or writing fails
+	 */
+	public void generate(ProjectDescription description, OutputStream output)
+			throws IOException {
+		output.write(generate(description));
+	}
+
+	private String getKey(ProjectDescription description) {
+		return ProjectDescriptionFingerprint.of(description).getValue() + "."
+				+ this.format.getExtension();
+	}
+
+	private byte[] loadOrGenerate(String key, ProjectDescription description)
+			throws IOException {
+		byte[] archive = this.cache.peek(key);
+		if (archive != null) {
+			// A previous leader cached the archive after this request's first lookup
+			this.localHitCount.incrementAndGet();
+			return archive;
+		}
+		archive = loadShared(key);
+		if (archive != null) {
+			this.sharedHitCount.incrementAndGet();
+		}
+		else {
+			archive = generateArchive(description);
+			this.generationCount.incrementAndGet();
+			storeShared(key, archive);
+		}
+		this.cache.put(key, archive);
+		return archive;
+	}
+
+	private byte[] loadShared(String key) {
+		if (this.store == null) {
+			return null;
+		}
+		try {
+			return this.store.load(key);
+		}
+		catch (IOException ex) {
+			this.storeReadFailureCount.incrementAndGet();
+			logger.warn("Failed to load archive '" + key + "' from store", ex);
+			return null;
+		}
+	}
+
+	private void storeShared(String key, byte[] archive) {
+		if (this.store == null) {
+			return;
+		}
+		try {
+			this.store.store(key, archive);
+		}
+		catch (IOException ex) {
+			this.storeWriteFailureCount.incrementAndGet();
+			logger.warn("Failed to add archive '" + key + "' to store", ex);
+		}
+	}
+
+	private byte[] generateArchive(ProjectDescription description) throws IOException {
+		ByteArrayOutputStream archive = new ByteArrayOutputStream();
+		try (ArchiveProjectOutput output = this.format.createOutput(archive)) {
+			this.generator.generate(description, output);
+		}
+		return archive.toByteArray();
+	}
+
+	/**
+	 * Returns a snapshot of the statistics of the local cache, including the failures to
+	 * read from and write to the shared store.
+	 * @return the statistics
+	 */
+	public ProjectArchiveCacheStatistics getStatistics() {
+		return this.cache.getStatistics().withStoreFailures(
+				this.storeReadFailureCount.get(), this.storeWriteFailureCount.get());
+	}
+
+	/**
+	 * Returns the number of requests that were served from the local cache.
+	 * @return the local hit count
+	 */
+	public long getLocalHitCount() {
+		return this.localHitCount.get();
+	}
+
+	/**
+	 * Returns the number of requests that were served from the shared store, typically
+	 * because the archive was generated by another node.
+	 * @return the shared hit count
+	 */
+	public long getSharedHitCount() {
+		return this.sharedHitCount.get();
+	}
+
+	/**
+	 * Returns the number of archives that have been generated.
+	 * @return the generation count
+	 */
+	public long getGenerationCount() {
+		return this.generationCount.get();
+	}
+
+	/**
+	 * Returns the number of requests that shared the result of an identical request that
+	 * was already in flight.
+	 * @return the coalesced count
+	 */
+	public long getCoalescedCount() {
+		return this.inFlight.getCoalescedCount();
+	}
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import io.spring.initializr.generator.ProjectDescription;
+import io.spring.initializr.generator.ProjectGenerator;
+import io.spring.initializr.generator.output.DirectoryProjectOutput;
+import io.spring.initializr.generator.output.InMemoryProjectOutput;
+import io.spring.initializr.generator.output.ProjectOutput;
+import io.spring.initializr.generator.util.SingleFlight;
+
+import org.springframework.util.Assert;
+
+/**
+ * Sits in front of a {@link ProjectGenerator} and coalesces concurrent requests for
+ * equivalent projects. Descriptions are equivalent when they have the same
+ * {@link ProjectDescriptionFingerprint fingerprint}. The first request generates the
+ * project in memory and the requests that arrive while it is in flight share that result,
+ * or its failure, rather than generating the project again. Each request then receives
+ * its own copy of the project's files so that callers can modify or delete them without
+ * affecting each other.
+ *
+ * @author Andy Wilkinson
+ */
+public class CoalescingProjectGenerator {
+
+	private final ProjectGenerator generator;
+
+	private final Duration timeout;
+
+	private final SingleFlight<ProjectDescriptionFingerprint, InMemoryProjectOutput> inFlight;
+
+	/**
+	 * Creates a new instance that waits for, at most, the given {@code timeout} for an
+	 * equivalent in-flight generation to complete.
+	 * @param generator the generator to delegate to
+	 * @param timeout the maximum time to wait for an in-flight generation
+	 */
+	public CoalescingProjectGenerator(ProjectGenerator generator, Duration timeout) {
+		Assert.notNull(generator, "Generator must not be null");
+		Assert.isTrue(timeout != null && !timeout.isNegative(),
+				"Timeout must not be null or negative");
+		this.generator = generator;
+		this.timeout = timeout;
+		this.inFlight = new SingleFlight<>(timeout);
+	}
+
+	/**
+	 * Generates the project described by the given {@code description} in a new temporary
+	 * directory or, if an equivalent project is already being generated, waits for that
+	 * generation to complete and copies its result.
+	 * @param description the description of the project
+	 * @return the root directory of the generated project
+	 * @throws InterruptedIOException if the timeout elapses or the calling thread is
+	 * interrupted while waiting for an equivalent generation
+	 * @throws IOException if generation fails
+	 */
+	public File generate(ProjectDescription description) throws IOException {
+		InMemoryProjectOutput project = generateInMemory(description);
+		Path projectRoot = Files.createTempDirectory("project-");
+		project.writeTo(new DirectoryProjectOutput(projectRoot));
+		return projectRoot.toFile();
+	}
+
+	/**
+	 * Generates the project described by the given {@code description} or, if an
+	 * equivalent project is already being generated, waits for that generation to
+	 * complete, and then writes the project's files to the given {@code output}.
+	 * @param description the description of the project
+	 * @param output the output to which the project is written
+	 * @throws InterruptedIOException if the timeout elapses or the calling thread is
+	 * interrupted while waiting for an equivalent generation
+	 * @throws IOException if generation fails
+	 */
+	public void generate(ProjectDescription description, ProjectOutput output)
+			throws IOException {
+		generateInMemory(description).writeTo(output);
+	}
+
+	private InMemoryProjectOutput generateInMemory(ProjectDescription description)
+			throws IOException {
+		try {
+			return this.inFlight.execute(ProjectDescriptionFingerprint.of(description),
+					() -> {
+						InMemoryProjectOutput project = new InMemoryProjectOutput();
+						this.generator.generate(description, project);
+						return project;
+					});
+		}
+		catch (IOException | RuntimeException ex) {
+			throw ex;
+		}
+		catch (ExecutionException ex) {
+			throw new IOException("Generation of an equivalent project failed: "
+					+ ex.getCause().getMessage(), ex.getCause());
+		}
+		catch (TimeoutException ex) {
+			throw interruptedIOException("Timed out after " + this.timeout.toMillis()
+					+ "ms waiting for an equivalent project to be generated", ex);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw interruptedIOException(
+					"Interrupted while waiting for an equivalent project to be generated",
+					ex);
+		}
+		catch (Exception ex) {
+			throw new IOException("Project generation failed", ex);
+		}
+	}
+
+	private InterruptedIOException interruptedIOException(String message,
+			Exception cause) {
+		InterruptedIOException exception = new InterruptedIOException(message);
+		exception.initCause(cause);
+		return exception;
+	}
+
+	/**
+	 * Returns the number of requests that shared the result of an equivalent in-flight
+	 * generation.
+	 * @return the coalesced count
+	 */
+	public long getCoalescedCount() {
+		return this.inFlight.getCoalescedCount();
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.springframework.util.Assert;
+
+/**
+ * A {@link ProjectArchiveStore} that stores each archive as a file in a directory,
+ * typically on a volume that is shared by several generator nodes. Archives are written
+ * to a temporary file that is then atomically moved into place so that readers never see
+ * a partially written archive.
+ *
+ * @author Andy Wilkinson
+ */
+public class DirectoryProjectArchiveStore implements ProjectArchiveStore {
+
+	private final Path directory;
+
+	public DirectoryProjectArchiveStore(Path directory) {
+		Assert.notNull(directory, "Directory must not be null");
+		this.directory = directory;
+	}
+
+	@Override
+	public byte[] load(String key) throws IOException {
+		try {
+			return Files.readAllBytes(this.directory.resolve(key));
+		}
+		catch (NoSuchFileException ex) {
+			return null;
+		}
+	}
+
+	@Override
+	public void store(String key, byte[] archive) throws IOException {
+		Files.createDirectories(this.directory);
+		Path temp = Files.createTempFile(this.directory, key, ".tmp");
+		try {
+			Files.write(temp, archive);
+			Files.move(temp, this.directory.resolve(key),
+					StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link ProjectArchiveStore} that holds archives in memory. Sharing an instance
+ * between several {@link CachingProjectArchiveGenerator generators} in the same process
+ * stands in for a store that is shared by several nodes.
+ *
+ * @author Andy Wilkinson
+ */
+public class InMemoryProjectArchiveStore implements ProjectArchiveStore {
+
+	private final Map<String, byte[]> archives = new ConcurrentHashMap<>();
+
+	@Override
+	public byte[] load(String key) {
+		return this.archives.get(key);
+	}
+
+	@Override
+	public void store(String key, byte[] archive) {
+		this.archives.put(key, archive);
+	}
+
+	/**
+	 * Returns the number of archives in the store.
+	 * @return the number of archives
+	 */
+	public int size() {
+		return this.archives.size();
+	}
+
+}
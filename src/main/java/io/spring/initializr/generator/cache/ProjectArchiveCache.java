@@ -0,0 +1,294 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.cache;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.util.Assert;
+
+/**
+ * An in-memory cache of generated project archives. The cache is bounded by the total
+ * size, in bytes, of the archives that it holds. When it is full, the least recently used
+ * archives are evicted and, if a spill directory has been configured, written to disk
+ * from where they can still be served. The spill directory is owned by the cache and is
+ * bounded separately. A spilled archive is deleted when it is evicted from the directory
+ * or promoted back into memory. Failing to write to the spill directory never fails the
+ * caller: the failure is logged and counted, and the archive is dropped.
+ *
+ * @author Andy Wilkinson
+ */
+public class ProjectArchiveCache {
+
+	private static final Log logger = LogFactory.getLog(ProjectArchiveCache.class);
+
+	private final long maximumWeight;
+
+	private final Path spillDirectory;
+
+	private final long maximumSpillWeight;
+
+	private final Map<String, byte[]> archives = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long weight;
+
+	private final Map<String, Long> spilled = new LinkedHashMap<>();
+
+	private long spillWeight;
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	private final AtomicLong bytesServed = new AtomicLong();
+
+	private final AtomicLong spillFailureCount = new AtomicLong();
+
+	/**
+	 * Creates a new cache that holds, at most, the given number of bytes in memory.
+	 * @param maximumWeight the maximum total size of the cached archives in bytes
+	 */
+	public ProjectArchiveCache(long maximumWeight) {
+		this(maximumWeight, null, 0);
+	}
+
+	/**
+	 * Creates a new cache that holds, at most, the given number of bytes in memory and
+	 * spills evicted archives to the given {@code spillDirectory}, which holds, at most,
+	 * {@code maximumSpillWeight} bytes. Any files that are already in the directory are
+	 * deleted.
+	 * @param maximumWeight the maximum total size of the cached archives in bytes
+	 * @param spillDirectory the directory to which evicted archives are written or
+	 * {@code null} if they should be discarded
+	 * @param maximumSpillWeight the maximum total size of the spilled archives in bytes
+	 */
+	public ProjectArchiveCache(long maximumWeight, Path spillDirectory,
+			long maximumSpillWeight) {
+		Assert.isTrue(maximumWeight >= 0, "MaximumWeight must not be negative");
+		Assert.isTrue(maximumSpillWeight >= 0, "MaximumSpillWeight must not be negative");
+		this.maximumWeight = maximumWeight;
+		this.spillDirectory = spillDirectory;
+		this.maximumSpillWeight = maximumSpillWeight;
+		if (spillDirectory != null) {
+			deleteSpilledFiles(spillDirectory);
+		}
+	}
+
+	private static void deleteSpilledFiles(Path spillDirectory) {
+		if (!Files.isDirectory(spillDirectory)) {
+			return;
+		}
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(spillDirectory)) {
+			for (Path file : files) {
+				if (Files.isRegularFile(file)) {
+					Files.delete(file);
+				}
+			}
+		}
+		catch (IOException ex) {
+			// Leftover files are never read as only the archives spilled by this cache
+			// are tracked and a spilled archive replaces any existing file
+			logger.warn("Failed to clean spill directory '" + spillDirectory + "'", ex);
+		}
+	}
+
+	/**
+	 * Returns the archive with the given {@code key}. The returned array is shared and
+	 * must not be modified.
+	 * @param key the key of the archive
+	 * @return the archive or {@code null} if it is not cached
+	 */
+	public byte[] get(String key) {
+		byte[] archive;
+		synchronized (this.archives) {
+			archive = this.archives.get(key);
+		}
+		if (archive == null) {
+			archive = readSpilled(key);
+			if (archive != null && archive.length <= this.maximumWeight) {
+				deleteSpilled(key);
+				store(key, archive, false);
+			}
+		}
+		if (archive == null) {
+			this.missCount.incrementAndGet();
+			return null;
+		}
+		this.hitCount.incrementAndGet();
+		this.bytesServed.addAndGet(archive.length);
+		return archive;
+	}
+
+	/**
+	 * Returns the archive with the given {@code key} if it is held in memory, without
+	 * recording a hit or a miss.
+	 * @param key the key of the archive
+	 * @return the archive or {@code null}
+	 */
+	byte[] peek(String key) {
+		synchronized (this.archives) {
+			return this.archives.get(key);
+		}
+	}
+
+	/**
+	 * Adds the given {@code archive} to the cache, evicting other archives if necessary.
+	 * @param key the key of the archive
+	 * @param archive the archive
+	 */
+	public void put(String key, byte[] archive) {
+		store(key, archive, true);
+	}
+
+	private void store(String key, byte[] archive, boolean spillIfTooLarge) {
+		if (archive.length > this.maximumWeight) {
+			if (spillIfTooLarge) {
+				spill(key, archive);
+			}
+			return;
+		}
+		List<Map.Entry<String, byte[]>> evicted = new ArrayList<>();
+		synchronized (this.archives) {
+			byte[] previous = this.archives.put(key, archive);
+			this.weight += archive.length - ((previous != null) ? previous.length : 0);
+			Iterator<Map.Entry<String, byte[]>> iterator = this.archives.entrySet()
+					.iterator();
+			while (this.weight > this.maximumWeight && iterator.hasNext()) {
+				Map.Entry<String, byte[]> eldest = iterator.next();
+				iterator.remove();
+				this.weight -= eldest.getValue().length;
+				evicted.add(eldest);
+			}
+		}
+		this.evictionCount.addAndGet(evicted.size());
+		for (Map.Entry<String, byte[]> entry : evicted) {
+			spill(entry.getKey(), entry.getValue());
+		}
+	}
+
+	private void spill(String key, byte[] archive) {
+		if (this.spillDirectory == null || archive.length > this.maximumSpillWeight) {
+			return;
+		}
+		Path temp = null;
+		try {
+			Files.createDirectories(this.spillDirectory);
+			temp = Files.createTempFile(this.spillDirectory, key, ".tmp");
+			Files.write(temp, archive);
+			Files.move(temp, this.spillDirectory.resolve(key),
+					StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException ex) {
+			this.spillFailureCount.incrementAndGet();
+			logger.warn("Failed to spill archive '" + key + "'", ex);
+			deleteQuietly(temp);
+			return;
+		}
+		List<String> evicted = new ArrayList<>();
+		synchronized (this.spilled) {
+			Long previous = this.spilled.remove(key);
+			this.spillWeight += archive.length - ((previous != null) ? previous : 0);
+			this.spilled.put(key, (long) archive.length);
+			Iterator<Map.Entry<String, Long>> iterator = this.spilled.entrySet()
+					.iterator();
+			while (this.spillWeight > this.maximumSpillWeight && iterator.hasNext()) {
+				Map.Entry<String, Long> eldest = iterator.next();
+				iterator.remove();
+				this.spillWeight -= eldest.getValue();
+				evicted.add(eldest.getKey());
+			}
+		}
+		for (String evictedKey : evicted) {
+			deleteSpilledFile(evictedKey);
+		}
+	}
+
+	private byte[] readSpilled(String key) {
+		if (this.spillDirectory == null) {
+			return null;
+		}
+		synchronized (this.spilled) {
+			if (!this.spilled.containsKey(key)) {
+				return null;
+			}
+		}
+		try {
+			return Files.readAllBytes(this.spillDirectory.resolve(key));
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	private void deleteSpilled(String key) {
+		synchronized (this.spilled) {
+			Long length = this.spilled.remove(key);
+			if (length == null) {
+				return;
+			}
+			this.spillWeight -= length;
+		}
+		deleteSpilledFile(key);
+	}
+
+	private void deleteSpilledFile(String key) {
+		deleteQuietly(this.spillDirectory.resolve(key));
+	}
+
+	private void deleteQuietly(Path file) {
+		if (file == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(file);
+		}
+		catch (IOException ex) {
+			// The file is not tracked and is deleted when the cache is next created
+		}
+	}
+
+	/**
+	 * Returns a snapshot of the statistics of this cache.
+	 * @return the statistics
+	 */
+	public ProjectArchiveCacheStatistics getStatistics() {
+		long weight;
+		int size;
+		synchronized (this.archives) {
+			weight = this.weight;
+			size = this.archives.size();
+		}
+		return new ProjectArchiveCacheStatistics(this.hitCount.get(),
+				this.missCount.get(), this.evictionCount.get(), this.bytesServed.get(),
+				size, weight, this.spillFailureCount.get(), 0, 0);
+	}
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.cache;
+
+/**
+ * A snapshot of the statistics of a {@link ProjectArchiveCache}.
+ *
+ * @author Andy Wilkinson
+ */
+public final class ProjectArchiveCacheStatistics {
+
+	private final long hitCount;
+
+	private final long missCount;
+
+	private final long evictionCount;
+
+	private final long bytesServed;
+
+	private final int size;
+
+	private final long weight;
+
+	private final long spillFailureCount;
+
+	private final long storeReadFailureCount;
+
+	private final long storeWriteFailureCount;
+
+	ProjectArchiveCacheStatistics(long hitCount, long missCount, long evictionCount,
+			long bytesServed, int size, long weight, long spillFailureCount,
+			long storeReadFailureCount, long storeWriteFailureCount) {
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.evictionCount = evictionCount;
+		this.bytesServed = bytesServed;
+		this.size = size;
+		this.weight = weight;
+		this.spillFailureCount = spillFailureCount;
+		this.storeReadFailureCount = storeReadFailureCount;
+		this.storeWriteFailureCount = storeWriteFailureCount;
+	}
+
+	ProjectArchiveCacheStatistics withStoreFailures(long storeReadFailureCount,
+			long storeWriteFailureCount) {
+		return new ProjectArchiveCacheStatistics(this.hitCount, this.missCount,
+				this.evictionCount, this.bytesServed, this.size, this.weight,
+				this.spillFailureCount, storeReadFailureCount, storeWriteFailureCount);
+	}
+
+	/**
+	 * Returns the number of lookups that found an archive, either in memory or on disk.
+	 * @return the hit count
+	 */
+	public long getHitCount() {
+		return this.hitCount;
+	}
+
+	/**
+	 * Returns the number of lookups that did not find an archive.
+	 * @return the miss count
+	 */
+	public long getMissCount() {
+		return this.missCount;
+	}
+
+	/**
+	 * Returns the ratio of hits to lookups or {@code 0} if there have been no lookups.
+	 * @return the hit ratio
+	 */
+	public double getHitRatio() {
+		long lookups = this.hitCount + this.missCount;
+		return (lookups != 0) ? (double) this.hitCount / lookups : 0;
+	}
+
+	/**
+	 * Returns the number of archives that have been evicted from memory.
+	 * @return the eviction count
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount;
+	}
+
+	/**
+	 * Returns the total size, in bytes, of the archives served by the cache.
+	 * @return the bytes served
+	 */
+	public long getBytesServed() {
+		return this.bytesServed;
+	}
+
+	/**
+	 * Returns the number of archives held in memory.
+	 * @return the number of archives
+	 */
+	public int getSize() {
+		return this.size;
+	}
+
+	/**
+	 * Returns the total size, in bytes, of the archives held in memory.
+	 * @return the weight of the cache
+	 */
+	public long getWeight() {
+		return this.weight;
+	}
+
+	/**
+	 * Returns the number of evicted archives that could not be written to the spill
+	 * directory and were dropped.
+	 * @return the spill failure count
+	 */
+	public long getSpillFailureCount() {
+		return this.spillFailureCount;
+	}
+
+	/**
+	 * Returns the number of times that an archive could not be loaded from the shared
+	 * {@link ProjectArchiveStore}. Always {@code 0} for statistics obtained directly from
+	 * a {@link ProjectArchiveCache}.
+	 * @return the store read failure count
+	 * @see CachingProjectArchiveGenerator#getStatistics()
+	 */
+	public long getStoreReadFailureCount() {
+		return this.storeReadFailureCount;
+	}
+
+	/**
+	 * Returns the number of times that an archive could not be added to the shared
+	 * {@link ProjectArchiveStore}. Always {@code 0} for statistics obtained directly from
+	 * a {@link ProjectArchiveCache}.
+	 * @return the store write failure count
+	 * @see CachingProjectArchiveGenerator#getStatistics()
+	 */
+	public long getStoreWriteFailureCount() {
+		return this.storeWriteFailureCount;
+	}
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.cache;
+
+import java.io.IOException;
+
+/**
+ * A store of generated project archives that can be shared by several generator nodes.
+ * Archives are keyed by the {@link ProjectDescriptionFingerprint fingerprint} of their
+ * description and the extension of their format. Implementations must be thread-safe.
+ *
+ * @author Andy Wilkinson
+ * @see DirectoryProjectArchiveStore
+ * @see InMemoryProjectArchiveStore
+ */
+public interface ProjectArchiveStore {
+
+	/**
+	 * Loads the archive with the given {@code key}.
+	 * @param key the key of the archive
+	 * @return the archive or {@code null} if the store does not contain it
+	 * @throws IOException if the archive cannot be loaded
+	 */
+	byte[] load(String key) throws IOException;
+
+	/**
+	 * Stores the given {@code archive} with the given {@code key}, replacing any archive
+	 * that is already stored with the same key.
+	 * @param key the key of the archive
+	 * @param archive the archive
+	 * @throws IOException if the archive cannot be stored
+	 */
+	void store(String key, byte[] archive) throws IOException;
+
+}
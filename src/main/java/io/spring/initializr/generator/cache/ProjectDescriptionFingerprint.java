@@ -0,0 +1,125 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import io.spring.initializr.generator.Dependency;
+import io.spring.initializr.generator.ProjectDescription;
+
+/**
+ * A fingerprint of a {@link ProjectDescription} that identifies the project that it
+ * describes. Descriptions that differ only in the order in which their dependencies were
+ * added or in duplicate dependencies, neither of which affects the generated project,
+ * have the same fingerprint. Nothing else is normalized.
+ *
+ * @author Andy Wilkinson
+ */
+public final class ProjectDescriptionFingerprint {
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private final String value;
+
+	private ProjectDescriptionFingerprint(String value) {
+		this.value = value;
+	}
+
+	/**
+	 * Returns the fingerprint of the given {@code description}.
+	 * @param description the project description
+	 * @return the fingerprint
+	 */
+	public static ProjectDescriptionFingerprint of(ProjectDescription description) {
+		return new ProjectDescriptionFingerprint(sha256(canonicalForm(description)));
+	}
+
+	private static String canonicalForm(ProjectDescription description) {
+		StringBuilder builder = new StringBuilder();
+		append(builder, "groupId", description.getGroupId());
+		append(builder, "artifactId", description.getArtifactId());
+		append(builder, "buildSystem", (description.getBuildSystem() != null)
+				? description.getBuildSystem().id() : null);
+		append(builder, "language", (description.getLanguage() != null)
+				? description.getLanguage().id() : null);
+		SortedSet<String> dependencies = new TreeSet<>();
+		for (Dependency dependency : description.getDependencies()) {
+			dependencies.add(dependency.getGroupId() + ":" + dependency.getArtifactId()
+					+ ":" + dependency.getType());
+		}
+		append(builder, "dependencies", String.join(",", dependencies));
+		return builder.toString();
+	}
+
+	private static void append(StringBuilder builder, String name, String value) {
+		builder.append(name).append('=');
+		if (value != null) {
+			builder.append(value.length()).append(':').append(value);
+		}
+		builder.append('\n');
+	}
+
+	private static String sha256(String input) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256")
+					.digest(input.getBytes(StandardCharsets.UTF_8));
+			char[] hex = new char[digest.length * 2];
+			for (int i = 0; i < digest.length; i++) {
+				hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xf];
+				hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xf];
+			}
+			return new String(hex);
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not available", ex);
+		}
+	}
+
+	/**
+	 * Returns the value of the fingerprint as a string of hexadecimal digits.
+	 * @return the value
+	 */
+	public String getValue() {
+		return this.value;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		return this.value.equals(((ProjectDescriptionFingerprint) obj).value);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.value.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return this.value;
+	}
+
+}
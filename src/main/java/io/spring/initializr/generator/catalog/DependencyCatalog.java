@@ -0,0 +1,176 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.catalog;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import io.spring.initializr.generator.Dependency;
+import io.spring.initializr.generator.DependencyType;
+import io.spring.initializr.generator.ProjectDescription;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * An immutable catalog of the dependencies that can be requested by id. A catalog is
+ * loaded from a properties file in which each entry is described by the following keys:
+ *
+ * <ul>
+ * <li>{@code <id>.coordinates}: the {@code groupId:artifactId} of the dependency</li>
+ * <li>{@code <id>.type}: the {@link DependencyType type} of the dependency, for example
+ * {@code test-compile}. Defaults to {@code compile}</li>
+ * <li>{@code <id>.build-systems}: a comma-separated list of the ids of the build systems
+ * with which the dependency can be used. Defaults to all build systems</li>
+ * </ul>
+ *
+ * @author Andy Wilkinson
+ * @see ReloadableDependencyCatalog
+ */
+public final class DependencyCatalog {
+
+	private final Map<String, DependencyCatalogEntry> entries;
+
+	private DependencyCatalog(Map<String, DependencyCatalogEntry> entries) {
+		this.entries = entries;
+	}
+
+	/**
+	 * Loads a catalog from the given properties {@code resource}.
+	 * @param resource the resource
+	 * @return the catalog
+	 * @throws IOException if the resource cannot be read
+	 * @throws IllegalStateException if the resource does not describe a valid catalog
+	 */
+	public static DependencyCatalog load(Resource resource) throws IOException {
+		Properties properties = PropertiesLoaderUtils.loadProperties(resource);
+		Set<String> ids = new LinkedHashSet<>();
+		for (String key : properties.stringPropertyNames()) {
+			int separator = key.lastIndexOf('.');
+			if (separator <= 0) {
+				throw new IllegalStateException("Invalid catalog key '" + key + "' in "
+						+ resource.getDescription());
+			}
+			ids.add(key.substring(0, separator));
+		}
+		Map<String, DependencyCatalogEntry> entries = new HashMap<>(
+				(int) (ids.size() / 0.75f) + 1);
+		for (String id : ids) {
+			entries.put(id, createEntry(id, properties, resource));
+		}
+		return new DependencyCatalog(Collections.unmodifiableMap(entries));
+	}
+
+	private static DependencyCatalogEntry createEntry(String id, Properties properties,
+			Resource resource) {
+		String coordinates = properties.getProperty(id + ".coordinates");
+		String[] parts = (coordinates != null) ? coordinates.trim().split(":") : null;
+		if (parts == null || parts.length != 2) {
+			throw new IllegalStateException(
+					"Dependency '" + id + "' in " + resource.getDescription()
+							+ " must have coordinates of the form groupId:artifactId");
+		}
+		DependencyType type = parseType(id,
+				properties.getProperty(id + ".type", "compile"));
+		Set<String> buildSystems = StringUtils.commaDelimitedListToSet(
+				properties.getProperty(id + ".build-systems", ""));
+		buildSystems.removeIf(String::isEmpty);
+		return new DependencyCatalogEntry(id, new Dependency(parts[0], parts[1], type),
+				Collections.unmodifiableSet(buildSystems));
+	}
+
+	private static DependencyType parseType(String id, String type) {
+		try {
+			return DependencyType
+					.valueOf(type.trim().replace('-', '_').toUpperCase(Locale.ENGLISH));
+		}
+		catch (IllegalArgumentException ex) {
+			throw new IllegalStateException(
+					"Dependency '" + id + "' has unrecognized type '" + type + "'");
+		}
+	}
+
+	/**
+	 * Returns the entry with the given {@code id}.
+	 * @param id the id
+	 * @return the entry or {@code null} if the catalog does not contain it
+	 */
+	public DependencyCatalogEntry get(String id) {
+		return this.entries.get(id);
+	}
+
+	/**
+	 * Returns the number of entries in the catalog.
+	 * @return the number of entries
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Resolves each of the given {@code ids} and adds the resulting dependencies to the
+	 * given {@code description}. The ids are all resolved before any dependency is added
+	 * so that the description is left unchanged if any of them is invalid. An id that
+	 * appears more than once is only added once. The description's build system must be
+	 * set so that the dependencies that cannot be used with it are rejected.
+	 * @param ids the ids of the dependencies
+	 * @param description the description to which the dependencies are added
+	 * @throws IllegalArgumentException if the description has no build system, or if an
+	 * id is not in the catalog or its dependency cannot be used with the description's
+	 * build system
+	 */
+	public void resolve(List<String> ids, ProjectDescription description) {
+		Assert.notNull(description.getBuildSystem(),
+				"Build system must be set before dependencies are resolved");
+		Set<String> uniqueIds = new LinkedHashSet<>(ids);
+		List<Dependency> dependencies = new ArrayList<>(uniqueIds.size());
+		List<String> unknown = new ArrayList<>();
+		List<String> unsupported = new ArrayList<>();
+		for (String id : uniqueIds) {
+			DependencyCatalogEntry entry = this.entries.get(id);
+			if (entry == null) {
+				unknown.add(id);
+			}
+			else if (!entry.supports(description.getBuildSystem())) {
+				unsupported.add(id);
+			}
+			else {
+				dependencies.add(entry.getDependency());
+			}
+		}
+		if (!unknown.isEmpty()) {
+			throw new IllegalArgumentException("Unknown dependencies " + unknown);
+		}
+		if (!unsupported.isEmpty()) {
+			throw new IllegalArgumentException("Dependencies " + unsupported
+					+ " are not supported with build system '"
+					+ description.getBuildSystem().id() + "'");
+		}
+		dependencies.forEach(description::addDependency);
+	}
+
+}
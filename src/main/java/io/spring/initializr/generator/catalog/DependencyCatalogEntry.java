@@ -0,0 +1,81 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.catalog;
+
+import java.util.Set;
+
+import io.spring.initializr.generator.Dependency;
+import io.spring.initializr.generator.buildsystem.BuildSystem;
+
+import org.springframework.util.Assert;
+
+/**
+ * An entry in a {@link DependencyCatalog} that maps an id to a {@link Dependency}.
+ *
+ * @author Andy Wilkinson
+ */
+public final class DependencyCatalogEntry {
+
+	private final String id;
+
+	private final Dependency dependency;
+
+	private final Set<String> buildSystems;
+
+	DependencyCatalogEntry(String id, Dependency dependency, Set<String> buildSystems) {
+		this.id = id;
+		this.dependency = dependency;
+		this.buildSystems = buildSystems;
+	}
+
+	/**
+	 * Returns the id of the entry.
+	 * @return the id
+	 */
+	public String getId() {
+		return this.id;
+	}
+
+	/**
+	 * Returns the canonical dependency to which the id maps.
+	 * @return the dependency
+	 */
+	public Dependency getDependency() {
+		return this.dependency;
+	}
+
+	/**
+	 * Returns the ids of the build systems with which the dependency can be used or an
+	 * empty set if it can be used with any build system.
+	 * @return the ids of the supported build systems
+	 */
+	public Set<String> getBuildSystems() {
+		return this.buildSystems;
+	}
+
+	/**
+	 * Returns whether the dependency can be used with the given {@code buildSystem}.
+	 * @param buildSystem the build system
+	 * @return {@code true} if the dependency can be used with the build system
+	 */
+	public boolean supports(BuildSystem buildSystem) {
+		Assert.notNull(buildSystem, "BuildSystem must not be null");
+		return this.buildSystems.isEmpty()
+				|| this.buildSystems.contains(buildSystem.id());
+	}
+
+}
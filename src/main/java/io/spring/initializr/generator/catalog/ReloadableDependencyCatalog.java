@@ -0,0 +1,73 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.catalog;
+
+import java.io.IOException;
+import java.util.List;
+
+import io.spring.initializr.generator.ProjectDescription;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * A {@link DependencyCatalog} that can be reloaded from its resource while it is in use.
+ * A reload builds a complete new catalog and then swaps it in, so resolutions that are in
+ * progress complete against the catalog that they started with and are never paused or
+ * exposed to a partially loaded catalog.
+ *
+ * @author Andy Wilkinson
+ */
+public class ReloadableDependencyCatalog {
+
+	private final Resource resource;
+
+	private volatile DependencyCatalog catalog;
+
+	public ReloadableDependencyCatalog(Resource resource) throws IOException {
+		this.resource = resource;
+		this.catalog = DependencyCatalog.load(resource);
+	}
+
+	/**
+	 * Returns the current catalog. The returned catalog is immutable and is unaffected by
+	 * subsequent reloads.
+	 * @return the current catalog
+	 */
+	public DependencyCatalog getCatalog() {
+		return this.catalog;
+	}
+
+	/**
+	 * Resolves the given {@code ids} using the current catalog.
+	 * @param ids the ids of the dependencies
+	 * @param description the description to which the dependencies are added
+	 * @see DependencyCatalog#resolve(List, ProjectDescription)
+	 */
+	public void resolve(List<String> ids, ProjectDescription description) {
+		this.catalog.resolve(ids, description);
+	}
+
+	/**
+	 * Reloads the catalog from its resource. If the resource cannot be read or is
+	 * invalid, the current catalog remains in use.
+	 * @throws IOException if the resource cannot be read
+	 */
+	public void reload() throws IOException {
+		this.catalog = DependencyCatalog.load(this.resource);
+	}
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.code;
+
+import io.spring.initializr.generator.language.TypeDeclaration;
+
+/**
+ * Callback for customizing the base model of the application's main type. Unlike a
+ * {@link MainApplicationTypeCustomizer}, a base customizer is only invoked when the base
+ * model for a combination of language and build system is first created. The model is
+ * then {@link TypeDeclaration#fork() forked} for each generation. A base customizer must
+ * therefore only depend on the language and the build system of the project. Base
+ * customizers that are enabled by other conditions, for example on a dependency, are
+ * supported as the model is cached separately for each set of active base customizers.
+ * <p>
+ * All base customizers are invoked before any {@link MainApplicationTypeCustomizer},
+ * irrespective of their order. Their {@link org.springframework.core.annotation.Order
+ * order} only applies relative to other base customizers.
+ *
+ * @param <T> type declaration for customization
+ * @author Andy Wilkinson
+ * @see MainApplicationTypeCache
+ */
+public interface MainApplicationTypeBaseCustomizer<T extends TypeDeclaration> {
+
+	void customize(T typeDeclaration);
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.code;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import io.spring.initializr.generator.language.TypeDeclaration;
+
+/**
+ * A thread-safe cache of the base models of the application's main type that can be
+ * shared across generations. A base model is created once for each combination of
+ * language and build system and is then {@link TypeDeclaration#fork() forked} for each
+ * generation. As there are few such combinations, the cache is not bounded.
+ *
+ * @author Andy Wilkinson
+ * @see MainApplicationTypeBaseCustomizer
+ */
+public class MainApplicationTypeCache {
+
+	/**
+	 * The name of the bean that, when present, is used by
+	 * {@link MainSourceCodeFileContributor} to cache the base model of the main type.
+	 */
+	public static final String BEAN_NAME = "io.spring.initializr.generator.code.mainApplicationTypeCache";
+
+	private final Map<Object, TypeDeclaration> types = new ConcurrentHashMap<>();
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * Returns the cached base model for the given {@code key}, using the given
+	 * {@code factory} to create it if it is not known. The returned model must not be
+	 * modified.
+	 * @param <T> the type of the model
+	 * @param key the key identifying the language and build system of the model
+	 * @param factory the factory to use on a cache miss
+	 * @return the base model
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends TypeDeclaration> T get(Object key, Supplier<T> factory) {
+		TypeDeclaration type = this.types.get(key);
+		if (type != null) {
+			this.hitCount.incrementAndGet();
+			return (T) type;
+		}
+		this.missCount.incrementAndGet();
+		return (T) this.types.computeIfAbsent(key, (k) -> factory.get());
+	}
+
+	/**
+	 * Returns the number of lookups that were served from the cache.
+	 * @return the hit count
+	 */
+	public long getHitCount() {
+		return this.hitCount.get();
+	}
+
+	/**
+	 * Returns the number of lookups that required a base model to be created.
+	 * @return the miss count
+	 */
+	public long getMissCount() {
+		return this.missCount.get();
+	}
+
+}
@@ -16,8 +16,8 @@
 
 package io.spring.initializr.generator.code;
 
-import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -28,12 +28,19 @@ import io.spring.initializr.generator.language.CompilationUnit;
 import io.spring.initializr.generator.language.SourceCode;
 import io.spring.initializr.generator.language.SourceCodeWriter;
 import io.spring.initializr.generator.language.TypeDeclaration;
+import io.spring.initializr.generator.output.ProjectOutput;
+import io.spring.initializr.generator.util.ForkableList;
 import io.spring.initializr.generator.util.LambdaSafe;
 
 import org.springframework.beans.factory.ObjectProvider;
 
 /**
- * {@link FileContributor} for the application's main source code.
+ * {@link FileContributor} for the application's main source code. The main type's base
+ * model is customized by the {@link MainApplicationTypeBaseCustomizer base customizers}
+ * and then by the {@link MainApplicationTypeCustomizer per-request customizers}. When a
+ * {@link MainApplicationTypeCache} is available, the base model is created once for each
+ * combination of language, build system, and active base customizers, and is then forked
+ * so that only the per-request customizers are invoked for each generation.
  *
  * @param <T> language-specific type declaration
  * @param <C> language-specific compilation unit
@@ -43,35 +50,77 @@ import org.springframework.beans.factory.ObjectProvider;
 public class MainSourceCodeFileContributor<T extends TypeDeclaration, C extends CompilationUnit<T>, S extends SourceCode<T, C>>
 		implements FileContributor {
 
+	private static final String MAIN_APPLICATION_TYPE_NAME = "DemoApplication";
+
 	private final ProjectDescription projectDescription;
 
 	private final Supplier<S> sourceFactory;
 
 	private final SourceCodeWriter<S> sourceWriter;
 
+	private final ObjectProvider<MainApplicationTypeBaseCustomizer<? extends TypeDeclaration>> mainTypeBaseCustomizers;
+
+	private final List<String> mainTypeBaseCustomizerNames;
+
 	private final ObjectProvider<MainApplicationTypeCustomizer<? extends TypeDeclaration>> mainTypeCustomizers;
 
+	private final MainApplicationTypeCache mainTypeCache;
+
 	public MainSourceCodeFileContributor(ProjectDescription projectDescription,
 			Supplier<S> sourceFactory, SourceCodeWriter<S> sourceWriter,
-			ObjectProvider<MainApplicationTypeCustomizer<? extends TypeDeclaration>> mainTypeCustomizers) {
+			ObjectProvider<MainApplicationTypeBaseCustomizer<? extends TypeDeclaration>> mainTypeBaseCustomizers,
+			List<String> mainTypeBaseCustomizerNames,
+			ObjectProvider<MainApplicationTypeCustomizer<? extends TypeDeclaration>> mainTypeCustomizers,
+			MainApplicationTypeCache mainTypeCache) {
 		this.projectDescription = projectDescription;
 		this.sourceFactory = sourceFactory;
 		this.sourceWriter = sourceWriter;
+		this.mainTypeBaseCustomizers = mainTypeBaseCustomizers;
+		this.mainTypeBaseCustomizerNames = mainTypeBaseCustomizerNames;
 		this.mainTypeCustomizers = mainTypeCustomizers;
+		this.mainTypeCache = mainTypeCache;
 	}
 
 	@Override
-	public void contribute(File projectRoot) throws IOException {
+	public void contribute(ProjectOutput output) throws IOException {
 		S sourceCode = this.sourceFactory.get();
 		C compilationUnit = sourceCode.createCompilationUnit(
-				this.projectDescription.getGroupId(), "DemoApplication");
-		T mainApplicationType = compilationUnit.createTypeDeclaration("DemoApplication");
+				this.projectDescription.getGroupId(), MAIN_APPLICATION_TYPE_NAME);
+		T mainApplicationType = compilationUnit
+				.addTypeDeclaration(getBaseMainApplicationType());
 		customizeMainApplicationType(mainApplicationType);
-		this.sourceWriter
-				.writeTo(
-						this.projectDescription.getBuildSystem().getMainDirectory(
-								projectRoot, this.projectDescription.getLanguage()),
-						sourceCode);
+		this.sourceWriter.writeTo(
+				output.resolve(this.projectDescription.getBuildSystem()
+						.getMainDirectory(this.projectDescription.getLanguage())),
+				sourceCode);
+	}
+
+	@SuppressWarnings("unchecked")
+	private T getBaseMainApplicationType() {
+		if (this.mainTypeCache == null) {
+			return createBaseMainApplicationType();
+		}
+		T base = this.mainTypeCache.get(
+				Arrays.asList(this.projectDescription.getLanguage().id(),
+						this.projectDescription.getBuildSystem().id(),
+						this.mainTypeBaseCustomizerNames),
+				this::createBaseMainApplicationType);
+		return ForkableList.forkElement(base, (type) -> (T) type.fork());
+	}
+
+	@SuppressWarnings("unchecked")
+	private T createBaseMainApplicationType() {
+		T mainApplicationType = this.sourceFactory.get()
+				.createCompilationUnit(this.projectDescription.getGroupId(),
+						MAIN_APPLICATION_TYPE_NAME)
+				.createTypeDeclaration(MAIN_APPLICATION_TYPE_NAME);
+		List<MainApplicationTypeBaseCustomizer<? extends TypeDeclaration>> customizers = this.mainTypeBaseCustomizers
+				.orderedStream().collect(Collectors.toList());
+		LambdaSafe
+				.callbacks(MainApplicationTypeBaseCustomizer.class, customizers,
+						mainApplicationType)
+				.invoke((customizer) -> customizer.customize(mainApplicationType));
+		return mainApplicationType;
 	}
 
 	@SuppressWarnings("unchecked")
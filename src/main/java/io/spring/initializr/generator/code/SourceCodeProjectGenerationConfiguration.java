@@ -29,7 +29,7 @@ import org.springframework.context.annotation.Bean;
 public class SourceCodeProjectGenerationConfiguration {
 
 	@Bean
-	public MainApplicationTypeCustomizer<TypeDeclaration> springBootApplicationAnnotator() {
+	public MainApplicationTypeBaseCustomizer<TypeDeclaration> springBootApplicationAnnotator() {
 		return (typeDeclaration) -> typeDeclaration.annotate(new Annotation(
 				"org.springframework.boot.autoconfigure.SpringBootApplication"));
 	}
@@ -16,11 +16,18 @@
 
 package io.spring.initializr.generator.code.java;
 
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
 import io.spring.initializr.generator.ProjectDescription;
 import io.spring.initializr.generator.ProjectGenerationConfiguration;
+import io.spring.initializr.generator.code.MainApplicationTypeBaseCustomizer;
+import io.spring.initializr.generator.code.MainApplicationTypeCache;
 import io.spring.initializr.generator.code.MainApplicationTypeCustomizer;
 import io.spring.initializr.generator.code.MainSourceCodeFileContributor;
 import io.spring.initializr.generator.language.Parameter;
+import io.spring.initializr.generator.language.SourceCodeWriter;
+import io.spring.initializr.generator.language.SourceFragmentCache;
 import io.spring.initializr.generator.language.TypeDeclaration;
 import io.spring.initializr.generator.language.java.ConditionalOnJavaLanguage;
 import io.spring.initializr.generator.language.java.JavaCompilationUnit;
@@ -30,7 +37,9 @@ import io.spring.initializr.generator.language.java.JavaSourceCode;
 import io.spring.initializr.generator.language.java.JavaSourceCodeWriter;
 import io.spring.initializr.generator.language.java.JavaTypeDeclaration;
 
+import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 
 /**
@@ -45,14 +54,25 @@ public class JavaSourceCodeProjectGenerationConfiguration {
 	@Bean
 	public MainSourceCodeFileContributor<JavaTypeDeclaration, JavaCompilationUnit, JavaSourceCode> mainJavaSourceCodeFileContributor(
 			ProjectDescription projectDescription,
-			ObjectProvider<MainApplicationTypeCustomizer<? extends TypeDeclaration>> mainApplicationTypeCustomizers) {
+			ObjectProvider<MainApplicationTypeBaseCustomizer<? extends TypeDeclaration>> mainApplicationTypeBaseCustomizers,
+			ObjectProvider<MainApplicationTypeCustomizer<? extends TypeDeclaration>> mainApplicationTypeCustomizers,
+			@Qualifier(SourceCodeWriter.EXECUTOR_BEAN_NAME) ObjectProvider<Executor> executor,
+			@Qualifier(SourceFragmentCache.BEAN_NAME) ObjectProvider<SourceFragmentCache> fragmentCache,
+			@Qualifier(MainApplicationTypeCache.BEAN_NAME) ObjectProvider<MainApplicationTypeCache> mainApplicationTypeCache,
+			ListableBeanFactory beanFactory) {
 		return new MainSourceCodeFileContributor<JavaTypeDeclaration, JavaCompilationUnit, JavaSourceCode>(
-				projectDescription, JavaSourceCode::new, new JavaSourceCodeWriter(),
-				mainApplicationTypeCustomizers);
+				projectDescription, JavaSourceCode::new,
+				new JavaSourceCodeWriter(executor.getIfAvailable(),
+						fragmentCache.getIfAvailable()),
+				mainApplicationTypeBaseCustomizers,
+				Arrays.asList(beanFactory
+						.getBeanNamesForType(MainApplicationTypeBaseCustomizer.class)),
+				mainApplicationTypeCustomizers,
+				mainApplicationTypeCache.getIfAvailable());
 	}
 
 	@Bean
-	public MainApplicationTypeCustomizer<JavaTypeDeclaration> mainMethodContributor() {
+	public MainApplicationTypeBaseCustomizer<JavaTypeDeclaration> mainMethodContributor() {
 		return (typeDeclaration) -> {
 			typeDeclaration.addMethodDeclaration(
 					JavaMethodDeclaration.staticMethod("main").returning("void")
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.condition;
+
+import java.util.function.BooleanSupplier;
+
+import io.spring.initializr.generator.util.BoundedLruCache;
+
+/**
+ * A bounded, thread-safe cache of the outcomes of {@link ProjectGenerationCondition
+ * project generation conditions} that can be shared across generations. When the cache is
+ * full, the least recently used outcome is evicted.
+ *
+ * @author Andy Wilkinson
+ */
+public class ConditionOutcomeCache {
+
+	/**
+	 * The name of the bean that, when present, is used by
+	 * {@link ProjectGenerationCondition} to cache condition outcomes.
+	 */
+	public static final String BEAN_NAME = "io.spring.initializr.generator.condition.conditionOutcomeCache";
+
+	private final BoundedLruCache<Object, Boolean> outcomes;
+
+	private volatile boolean enabled = true;
+
+	/**
+	 * Creates a new cache that will hold, at most, the given number of outcomes.
+	 * @param maximumSize the maximum number of outcomes
+	 */
+	public ConditionOutcomeCache(int maximumSize) {
+		this.outcomes = new BoundedLruCache<>(maximumSize);
+	}
+
+	/**
+	 * Returns the cached outcome for the given {@code key}, using the given
+	 * {@code condition} to determine it if it is not known or if the cache is disabled.
+	 * @param key the key identifying the condition, the annotated element, and the facet
+	 * of the project description upon which the outcome depends
+	 * @param condition the condition to evaluate on a cache miss
+	 * @return the outcome
+	 */
+	public boolean matches(Object key, BooleanSupplier condition) {
+		if (!this.enabled) {
+			return condition.getAsBoolean();
+		}
+		return this.outcomes.get(key, condition::getAsBoolean);
+	}
+
+	/**
+	 * Enables or disables the cache. When disabled, every condition is evaluated.
+	 * @param enabled whether the cache is enabled
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	/**
+	 * Returns the number of lookups that were served from the cache.
+	 * @return the hit count
+	 */
+	public long getHitCount() {
+		return this.outcomes.getHitCount();
+	}
+
+	/**
+	 * Returns the number of lookups that required the condition to be evaluated.
+	 * @return the miss count
+	 */
+	public long getMissCount() {
+		return this.outcomes.getMissCount();
+	}
+
+	/**
+	 * Returns the number of outcomes that are currently cached.
+	 * @return the size of the cache
+	 */
+	public int size() {
+		return this.outcomes.size();
+	}
+
+	/**
+	 * Removes all of the cached outcomes.
+	 */
+	public void clear() {
+		this.outcomes.clear();
+	}
+
+}
@@ -16,35 +16,118 @@
 
 package io.spring.initializr.generator.condition;
 
-import io.spring.initializr.generator.Dependency;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import io.spring.initializr.generator.ProjectDescription;
 
 import org.springframework.context.annotation.ConditionContext;
 import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
- * {@link ProjectGenerationCondition} implementation for {@link ConditionalOnDependency}.
+ * {@link ProjectGenerationCondition} implementation for {@link ConditionalOnDependency},
+ * {@link ConditionalOnAnyDependency}, and {@link ConditionalOnAllDependencies}. The
+ * annotations on each element are compiled once into sets of coordinates that are then
+ * matched against the {@link ProjectDescription#getDependencyCoordinates() hashed
+ * coordinates} of the project's dependencies. Compiled annotations are keyed by the
+ * {@link #getElementKey(AnnotatedTypeMetadata) identity} of their element and are weakly
+ * referenced so that they do not prevent the element's class from being unloaded.
  *
  * @author Andy Wilkinson
  */
 class OnDependencyCondition extends ProjectGenerationCondition {
 
+	private static final Map<Object, List<Requirement>> compiledRequirements = new ConcurrentReferenceHashMap<>(
+			16, ConcurrentReferenceHashMap.ReferenceType.WEAK);
+
 	@Override
 	protected boolean matches(ProjectDescription projectDescription,
 			ConditionContext context, AnnotatedTypeMetadata metadata) {
-		String groupId = (String) metadata
-				.getAnnotationAttributes(ConditionalOnDependency.class.getName())
-				.get("groupId");
-		String artifactId = (String) metadata
-				.getAnnotationAttributes(ConditionalOnDependency.class.getName())
-				.get("artifactId");
-		for (Dependency dependency : projectDescription.getDependencies()) {
-			if (dependency.getGroupId().equals(groupId)
-					&& dependency.getArtifactId().equals(artifactId)) {
-				return true;
+		Set<String> coordinates = projectDescription.getDependencyCoordinates();
+		for (Requirement requirement : getRequirements(metadata)) {
+			if (!requirement.matches(coordinates)) {
+				return false;
 			}
 		}
-		return false;
+		return true;
+	}
+
+	@Override
+	protected Object getOutcomeCacheKey(ProjectDescription projectDescription) {
+		return projectDescription.getDependencyCoordinates();
+	}
+
+	private List<Requirement> getRequirements(AnnotatedTypeMetadata metadata) {
+		return compiledRequirements.computeIfAbsent(getElementKey(metadata),
+				(key) -> compile(metadata));
+	}
+
+	private List<Requirement> compile(AnnotatedTypeMetadata metadata) {
+		List<Requirement> requirements = new ArrayList<>();
+		Map<String, Object> single = metadata
+				.getAnnotationAttributes(ConditionalOnDependency.class.getName());
+		if (single != null) {
+			requirements.add(new Requirement(
+					Collections.singleton(
+							single.get("groupId") + ":" + single.get("artifactId")),
+					true));
+		}
+		Map<String, Object> any = metadata
+				.getAnnotationAttributes(ConditionalOnAnyDependency.class.getName());
+		if (any != null) {
+			requirements.add(new Requirement(toSet((String[]) any.get("value")), false));
+		}
+		Map<String, Object> all = metadata
+				.getAnnotationAttributes(ConditionalOnAllDependencies.class.getName());
+		if (all != null) {
+			requirements.add(new Requirement(toSet((String[]) all.get("value")), true));
+		}
+		return Collections.unmodifiableList(requirements);
+	}
+
+	private Set<String> toSet(String[] coordinates) {
+		Set<String> set = new HashSet<>();
+		for (String coordinate : coordinates) {
+			if (coordinate.indexOf(':') <= 0) {
+				throw new IllegalStateException("Invalid dependency coordinates '"
+						+ coordinate + "'. Expected groupId:artifactId");
+			}
+			set.add(coordinate.trim());
+		}
+		return Collections.unmodifiableSet(set);
+	}
+
+	/**
+	 * A compiled requirement for the presence of some or all of a set of dependencies.
+	 */
+	private static final class Requirement {
+
+		private final Set<String> coordinates;
+
+		private final boolean all;
+
+		private Requirement(Set<String> coordinates, boolean all) {
+			this.coordinates = coordinates;
+			this.all = all;
+		}
+
+		private boolean matches(Set<String> present) {
+			if (this.all) {
+				return present.containsAll(this.coordinates);
+			}
+			for (String coordinate : this.coordinates) {
+				if (present.contains(coordinate)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
 	}
 
 }
@@ -16,14 +16,22 @@
 
 package io.spring.initializr.generator.condition;
 
+import java.util.Arrays;
+
 import io.spring.initializr.generator.ProjectDescription;
 
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.context.annotation.Condition;
 import org.springframework.context.annotation.ConditionContext;
 import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.core.type.StandardAnnotationMetadata;
+import org.springframework.core.type.StandardMethodMetadata;
 
 /**
- * Base class for all project generation {@link Condition Conditions}.
+ * Base class for all project generation {@link Condition Conditions}. When a
+ * {@link ConditionOutcomeCache} is available and the condition
+ * {@link #getOutcomeCacheKey(ProjectDescription) declares} the facet of the
+ * {@link ProjectDescription} upon which its outcome depends, outcomes are cached.
  *
  * @author Andy Wilkinson
  */
@@ -31,12 +39,86 @@ public abstract class ProjectGenerationCondition implements Condition {
 
 	@Override
 	public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
-		ProjectDescription projectDescription = context.getBeanFactory()
+		ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+		ProjectDescription projectDescription = beanFactory
 				.getBean(ProjectDescription.class);
-		return matches(projectDescription, context, metadata);
+		ConditionOutcomeCache cache = beanFactory
+				.containsBean(ConditionOutcomeCache.BEAN_NAME)
+						? beanFactory.getBean(ConditionOutcomeCache.BEAN_NAME,
+								ConditionOutcomeCache.class)
+						: null;
+		return matches(projectDescription, context, metadata, cache);
+	}
+
+	/**
+	 * Determines whether the element described by the given {@code metadata} matches the
+	 * given {@code projectDescription} without a {@link ConditionContext}. Allows a
+	 * condition to be evaluated before the context that will hold the element has been
+	 * created.
+	 * @param projectDescription the description of the project being generated
+	 * @param metadata the metadata of the annotated element
+	 * @param cache the cache of outcomes or {@code null}
+	 * @return {@code true} if the element matches, otherwise {@code false}
+	 */
+	public boolean matches(ProjectDescription projectDescription,
+			AnnotatedTypeMetadata metadata, ConditionOutcomeCache cache) {
+		return matches(projectDescription, null, metadata, cache);
+	}
+
+	private boolean matches(ProjectDescription projectDescription,
+			ConditionContext context, AnnotatedTypeMetadata metadata,
+			ConditionOutcomeCache cache) {
+		Object outcomeCacheKey = getOutcomeCacheKey(projectDescription);
+		if (outcomeCacheKey == null || cache == null) {
+			return matches(projectDescription, context, metadata);
+		}
+		return cache.matches(
+				Arrays.asList(getClass(), getElementKey(metadata), outcomeCacheKey),
+				() -> matches(projectDescription, context, metadata));
 	}
 
+	/**
+	 * Determines whether the element described by the given {@code metadata} matches the
+	 * given {@code projectDescription}.
+	 * @param projectDescription the description of the project being generated
+	 * @param context the condition context or {@code null} if the condition is being
+	 * evaluated without one
+	 * @param metadata the metadata of the annotated element
+	 * @return {@code true} if the element matches, otherwise {@code false}
+	 */
 	protected abstract boolean matches(ProjectDescription projectDescription,
 			ConditionContext context, AnnotatedTypeMetadata metadata);
 
+	/**
+	 * Returns the key of the facet of the given {@code projectDescription} upon which the
+	 * outcome of this condition depends, or {@code null} if the outcome should not be
+	 * cached. Two descriptions with equal keys must produce the same outcome.
+	 * @param projectDescription the description of the project being generated
+	 * @return the key or {@code null}
+	 */
+	protected Object getOutcomeCacheKey(ProjectDescription projectDescription) {
+		return null;
+	}
+
+	/**
+	 * Returns a key that identifies the class or method described by the given
+	 * {@code metadata}. Reflection-based metadata is identified by its {@link Class} or
+	 * {@link java.lang.reflect.Method}, so overloaded methods and classes with the same
+	 * name from different class loaders have different keys. Other metadata, such as that
+	 * read by a shared
+	 * {@link org.springframework.core.type.classreading.CachingMetadataReaderFactory}, is
+	 * identified by the metadata instance itself.
+	 * @param metadata the metadata of the annotated element
+	 * @return the key
+	 */
+	protected static Object getElementKey(AnnotatedTypeMetadata metadata) {
+		if (metadata instanceof StandardAnnotationMetadata) {
+			return ((StandardAnnotationMetadata) metadata).getIntrospectedClass();
+		}
+		if (metadata instanceof StandardMethodMetadata) {
+			return ((StandardMethodMetadata) metadata).getIntrospectedMethod();
+		}
+		return metadata;
+	}
+
 }
@@ -16,12 +16,14 @@
 
 package io.spring.initializr.generator.language;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
+import io.spring.initializr.generator.util.ForkableList;
+
 /**
- * A compilation unit that represents an individual source file.
+ * A compilation unit that represents an individual source file. A compilation unit can be
+ * {@link #fork() forked} to produce an independent copy that shares its state with the
+ * original until either of them is modified.
  *
  * @param <T> the concrete type declaration supported by the compilation unit
  * @author Andy Wilkinson
@@ -32,11 +34,25 @@ public abstract class CompilationUnit<T extends TypeDeclaration> {
 
 	private final String name;
 
-	private final List<T> typeDeclarations = new ArrayList<>();
+	private final ForkableList<T> typeDeclarations;
 
 	public CompilationUnit(String packageName, String name) {
 		this.packageName = packageName;
 		this.name = name;
+		this.typeDeclarations = new ForkableList<>();
+	}
+
+	/**
+	 * Creates a new compilation unit that is a fork of the given {@code source}. Each of
+	 * the source's type declarations is {@link TypeDeclaration#fork() forked}.
+	 * @param source the compilation unit to fork
+	 */
+	@SuppressWarnings("unchecked")
+	protected CompilationUnit(CompilationUnit<T> source) {
+		this.packageName = source.packageName;
+		this.name = source.name;
+		this.typeDeclarations = source.typeDeclarations
+				.fork((typeDeclaration) -> (T) typeDeclaration.fork());
 	}
 
 	public String getPackageName() {
@@ -49,14 +65,31 @@ public abstract class CompilationUnit<T extends TypeDeclaration> {
 
 	public T createTypeDeclaration(String name) {
 		T typeDeclaration = doCreateTypeDeclaration(name);
-		this.typeDeclarations.add(typeDeclaration);
+		this.typeDeclarations.append(typeDeclaration);
+		return typeDeclaration;
+	}
+
+	/**
+	 * Adds the given {@code typeDeclaration}, typically a {@link TypeDeclaration#fork()
+	 * fork} of a type declaration that was created by another compilation unit.
+	 * @param typeDeclaration the type declaration to add
+	 * @return the type declaration
+	 */
+	public T addTypeDeclaration(T typeDeclaration) {
+		this.typeDeclarations.append(typeDeclaration);
 		return typeDeclaration;
 	}
 
 	public List<T> getTypeDeclarations() {
-		return Collections.unmodifiableList(this.typeDeclarations);
+		return this.typeDeclarations;
 	}
 
+	/**
+	 * Returns a fork of this compilation unit that can be modified independently.
+	 * @return the fork
+	 */
+	public abstract CompilationUnit<T> fork();
+
 	protected abstract T doCreateTypeDeclaration(String name);
 
 }
@@ -16,9 +16,7 @@
 
 package io.spring.initializr.generator.language;
 
-import java.util.Objects;
-
-import org.springframework.core.io.support.SpringFactoriesLoader;
+import io.spring.initializr.generator.util.FactoriesRegistry;
 
 /**
  * A language in which a generated project can be written.
@@ -29,14 +27,22 @@ public interface Language {
 
 	String id();
 
+	/**
+	 * Returns the language with the given {@code id}. The {@link LanguageFactory
+	 * factories} are loaded once and the resolved languages are cached.
+	 * @param id the id of the language
+	 * @return the language
+	 * @throws IllegalStateException if the id is not recognized
+	 * @see FactoriesRegistry
+	 */
 	static Language forId(String id) {
-		return SpringFactoriesLoader
-				.loadFactories(LanguageFactory.class,
-						LanguageFactory.class.getClassLoader())
-				.stream().map((factory) -> factory.createLanguage(id))
-				.filter(Objects::nonNull).findFirst()
-				.orElseThrow(() -> new IllegalStateException(
-						"Unrecognized language id '" + id + "'"));
+		Language language = FactoriesRegistry
+				.get(LanguageFactory.class, LanguageFactory.class.getClassLoader())
+				.resolve(id, LanguageFactory::createLanguage);
+		if (language == null) {
+			throw new IllegalStateException("Unrecognized language id '" + id + "'");
+		}
+		return language;
 	}
 
 }
@@ -43,4 +43,10 @@ class OnLanguageCondition extends ProjectGenerationCondition {
 		return projectDescription.getLanguage().id().equals(language.id());
 	}
 
+	@Override
+	protected Object getOutcomeCacheKey(ProjectDescription projectDescription) {
+		Language language = projectDescription.getLanguage();
+		return (language != null) ? language.id() : null;
+	}
+
 }
@@ -16,13 +16,16 @@
 
 package io.spring.initializr.generator.language;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.function.BiFunction;
 
+import io.spring.initializr.generator.util.ForkableList;
+
 /**
- * Representation of application source code.
+ * Representation of application source code. Source code can be {@link #fork() forked} to
+ * produce an independent copy that shares its state with the original until either of
+ * them is modified. This allows a base model to be built once and then customized
+ * separately for each generation.
  *
  * @param <T> types
  * @param <C> compilation units
@@ -30,17 +33,30 @@ import java.util.function.BiFunction;
  */
 public abstract class SourceCode<T extends TypeDeclaration, C extends CompilationUnit<T>> {
 
-	private final List<C> compilationUnits = new ArrayList<C>();
+	private final ForkableList<C> compilationUnits;
 
 	private final BiFunction<String, String, C> compilationUnitFactory;
 
 	protected SourceCode(BiFunction<String, String, C> compilationUnitFactory) {
 		this.compilationUnitFactory = compilationUnitFactory;
+		this.compilationUnits = new ForkableList<>();
+	}
+
+	/**
+	 * Creates new source code that is a fork of the given {@code source}. Each of the
+	 * source's compilation units is {@link CompilationUnit#fork() forked}.
+	 * @param source the source code to fork
+	 */
+	@SuppressWarnings("unchecked")
+	protected SourceCode(SourceCode<T, C> source) {
+		this.compilationUnitFactory = source.compilationUnitFactory;
+		this.compilationUnits = source.compilationUnits
+				.fork((compilationUnit) -> (C) compilationUnit.fork());
 	}
 
 	public C createCompilationUnit(String packageName, String name) {
 		C compilationUnit = this.compilationUnitFactory.apply(packageName, name);
-		this.compilationUnits.add(compilationUnit);
+		this.compilationUnits.append(compilationUnit);
 		return compilationUnit;
 	}
 
@@ -49,7 +65,13 @@ public abstract class SourceCode<T extends TypeDeclaration, C extends Compilatio
 	 * @return the compilation units
 	 */
 	public List<C> getCompilationUnits() {
-		return Collections.unmodifiableList(this.compilationUnits);
+		return this.compilationUnits;
 	}
 
+	/**
+	 * Returns a fork of this source code that can be modified independently.
+	 * @return the fork
+	 */
+	public abstract SourceCode<T, C> fork();
+
 }
@@ -16,9 +16,10 @@
 
 package io.spring.initializr.generator.language;
 
-import java.io.File;
 import java.io.IOException;
 
+import io.spring.initializr.generator.output.ProjectOutput;
+
 /**
  * A writer for some {@link SourceCode}.
  *
@@ -28,11 +29,19 @@ import java.io.IOException;
 public interface SourceCodeWriter<S extends SourceCode<?, ?>> {
 
 	/**
-	 * Writes, to the given {@code directory}, the given {@code sourceCode}.
-	 * @param directory the root directory beneath which the source code is written
+	 * The name of the {@link java.util.concurrent.Executor} bean that, when present, is
+	 * used by writers to render compilation units concurrently. Writers that do so must
+	 * still write the units to the output in order.
+	 */
+	String EXECUTOR_BEAN_NAME = "io.spring.initializr.generator.language.sourceCodeWriterExecutor";
+
+	/**
+	 * Writes, to the given {@code output}, the given {@code sourceCode}.
+	 * @param output the output, typically {@link ProjectOutput#resolve(String) resolved}
+	 * against a source directory, to which the source code is written
 	 * @param sourceCode the source code to write
 	 * @throws IOException if writing fails
 	 */
-	void writeTo(File directory, S sourceCode) throws IOException;
+	void writeTo(ProjectOutput output, S sourceCode) throws IOException;
 
 }
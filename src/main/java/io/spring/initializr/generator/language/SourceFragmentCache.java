@@ -0,0 +1,111 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.language;
+
+import java.util.function.Supplier;
+
+import io.spring.initializr.generator.util.BoundedLruCache;
+
+/**
+ * A bounded, thread-safe cache of rendered source code fragments that can be shared
+ * across generations. Fragments are keyed by the structure of the part of the language
+ * model from which they were rendered. The cache is bounded both by its number of
+ * fragments and by their total size in bytes. When either bound is exceeded, the least
+ * recently used fragments are evicted.
+ *
+ * @author Andy Wilkinson
+ */
+public class SourceFragmentCache {
+
+	/**
+	 * The name of the bean that, when present, is used by {@link SourceCodeWriter
+	 * SourceCodeWriters} to cache rendered fragments.
+	 */
+	public static final String BEAN_NAME = "io.spring.initializr.generator.language.sourceFragmentCache";
+
+	private final BoundedLruCache<Object, byte[]> fragments;
+
+	/**
+	 * Creates a new cache that will hold, at most, the given number of fragments and
+	 * bytes. A fragment that is larger than {@code maximumBytes} is never cached.
+	 * @param maximumSize the maximum number of fragments
+	 * @param maximumBytes the maximum total size of the fragments in bytes
+	 */
+	public SourceFragmentCache(int maximumSize, long maximumBytes) {
+		this.fragments = new BoundedLruCache<>(maximumSize, maximumBytes,
+				(fragment) -> fragment.length);
+	}
+
+	/**
+	 * Returns the cached fragment for the given {@code key}, using the given
+	 * {@code renderer} to render it if it is not known.
+	 * @param key the structural key of the fragment
+	 * @param renderer the renderer to use on a cache miss
+	 * @return the rendered fragment
+	 */
+	public byte[] get(Object key, Supplier<byte[]> renderer) {
+		return this.fragments.get(key, renderer);
+	}
+
+	/**
+	 * Returns the number of lookups that were served from the cache.
+	 * @return the hit count
+	 */
+	public long getHitCount() {
+		return this.fragments.getHitCount();
+	}
+
+	/**
+	 * Returns the number of lookups that required a fragment to be rendered.
+	 * @return the miss count
+	 */
+	public long getMissCount() {
+		return this.fragments.getMissCount();
+	}
+
+	/**
+	 * Returns the proportion of lookups that were served from the cache.
+	 * @return the hit rate, between {@code 0.0} and {@code 1.0}
+	 */
+	public double getHitRate() {
+		return this.fragments.getHitRate();
+	}
+
+	/**
+	 * Returns the number of fragments that are currently cached.
+	 * @return the size of the cache
+	 */
+	public int size() {
+		return this.fragments.size();
+	}
+
+	/**
+	 * Returns the total size, in bytes, of the fragments that are currently cached.
+	 * @return the size of the fragments in bytes
+	 */
+	public long getBytes() {
+		return this.fragments.getWeight();
+	}
+
+	/**
+	 * Removes all of the cached fragments.
+	 */
+	public void clear() {
+		this.fragments.clear();
+	}
+
+}
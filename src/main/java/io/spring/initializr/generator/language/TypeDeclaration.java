@@ -16,37 +16,57 @@
 
 package io.spring.initializr.generator.language;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
+import io.spring.initializr.generator.util.ForkableList;
+
 /**
- * A type declared in a {@link CompilationUnit}.
+ * A type declared in a {@link CompilationUnit}. A type declaration can be {@link #fork()
+ * forked} to produce an independent copy that shares its state with the original until
+ * either of them is modified.
  *
  * @author Andy Wilkinson
  */
 public class TypeDeclaration implements Annotatable {
 
-	private final List<Annotation> annotations = new ArrayList<Annotation>();
+	private final ForkableList<Annotation> annotations;
 
 	private final String name;
 
 	public TypeDeclaration(String name) {
 		this.name = name;
+		this.annotations = new ForkableList<>();
+	}
+
+	/**
+	 * Creates a new type declaration that is a fork of the given {@code source}.
+	 * @param source the type declaration to fork
+	 */
+	protected TypeDeclaration(TypeDeclaration source) {
+		this.name = source.name;
+		this.annotations = source.annotations.fork();
 	}
 
 	@Override
 	public void annotate(Annotation annotation) {
-		this.annotations.add(annotation);
+		this.annotations.append(annotation);
 	}
 
 	@Override
 	public List<Annotation> getAnnotations() {
-		return Collections.unmodifiableList(this.annotations);
+		return this.annotations;
 	}
 
 	public String getName() {
 		return this.name;
 	}
 
+	/**
+	 * Returns a fork of this type declaration that can be modified independently.
+	 * @return the fork
+	 */
+	public TypeDeclaration fork() {
+		return new TypeDeclaration(this);
+	}
+
 }
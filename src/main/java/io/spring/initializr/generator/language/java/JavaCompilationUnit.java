@@ -29,6 +29,15 @@ public class JavaCompilationUnit extends CompilationUnit<JavaTypeDeclaration> {
 		super(packageName, name);
 	}
 
+	private JavaCompilationUnit(JavaCompilationUnit source) {
+		super(source);
+	}
+
+	@Override
+	public JavaCompilationUnit fork() {
+		return new JavaCompilationUnit(this);
+	}
+
 	@Override
 	protected JavaTypeDeclaration doCreateTypeDeclaration(String name) {
 		return new JavaTypeDeclaration(name);
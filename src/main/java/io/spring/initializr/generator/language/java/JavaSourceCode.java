@@ -29,4 +29,13 @@ public class JavaSourceCode extends SourceCode<JavaTypeDeclaration, JavaCompilat
 		super(JavaCompilationUnit::new);
 	}
 
+	private JavaSourceCode(JavaSourceCode source) {
+		super(source);
+	}
+
+	@Override
+	public JavaSourceCode fork() {
+		return new JavaSourceCode(this);
+	}
+
 }
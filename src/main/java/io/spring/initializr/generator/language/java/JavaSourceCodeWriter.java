@@ -16,162 +16,423 @@
 
 package io.spring.initializr.generator.language.java;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import io.spring.initializr.generator.language.Annotation;
 import io.spring.initializr.generator.language.Parameter;
 import io.spring.initializr.generator.language.SourceCode;
 import io.spring.initializr.generator.language.SourceCodeWriter;
+import io.spring.initializr.generator.language.SourceFragmentCache;
+import io.spring.initializr.generator.output.ProjectOutput;
+import io.spring.initializr.generator.util.SegmentBuffer;
 
 /**
- * A {@link SourceCodeWriter} that writes {@link SourceCode} in Java.
+ * A {@link SourceCodeWriter} that writes {@link SourceCode} in Java. The qualified names
+ * used by each compilation unit are resolved once into a symbol table that provides the
+ * unit's sorted, de-duplicated imports and the names to use in its body. Each unit is
+ * assembled in a pooled {@link SegmentBuffer} before being written with a single call.
+ * <p>
+ * When created with an {@link Executor}, compilation units are rendered concurrently and
+ * are then written to the output one at a time, in the order in which they were created,
+ * so that the order of the files in an archive does not depend on scheduling.
+ * <p>
+ * When created with a {@link SourceFragmentCache}, everything that follows a unit's
+ * package declaration is rendered once per distinct structure of its type declarations
+ * and is then spliced in after the package declaration of subsequent units with the same
+ * structure.
  *
  * @author Andy Wilkinson
  */
 public class JavaSourceCodeWriter implements SourceCodeWriter<JavaSourceCode> {
 
+	private static final String NEW_LINE = "\n";
+
+	private static final byte[] NEW_LINE_SEGMENT = SegmentBuffer.segment(NEW_LINE);
+
+	private static final byte[] PACKAGE = SegmentBuffer.segment("package ");
+
+	private static final byte[] IMPORT = SegmentBuffer.segment("import ");
+
+	private static final byte[] STATEMENT_END = SegmentBuffer.segment(";" + NEW_LINE);
+
+	private static final byte[] AT = SegmentBuffer.segment("@");
+
+	private static final byte[] CLASS = SegmentBuffer.segment("public class ");
+
+	private static final byte[] CLASS_START = SegmentBuffer
+			.segment(" {" + NEW_LINE + NEW_LINE);
+
+	private static final byte[] CLASS_END = SegmentBuffer
+			.segment("}" + NEW_LINE + NEW_LINE);
+
+	private static final byte[] METHOD = SegmentBuffer.segment("    public ");
+
+	private static final byte[] STATIC = SegmentBuffer.segment("static ");
+
+	private static final byte[] SPACE = SegmentBuffer.segment(" ");
+
+	private static final byte[] OPEN_PARENTHESIS = SegmentBuffer.segment("(");
+
+	private static final byte[] COMMA = SegmentBuffer.segment(", ");
+
+	private static final byte[] METHOD_START = SegmentBuffer.segment(") {" + NEW_LINE);
+
+	private static final byte[] METHOD_END = SegmentBuffer
+			.segment("    }" + NEW_LINE + NEW_LINE);
+
+	private static final byte[] STATEMENT_INDENT = SegmentBuffer.segment("        ");
+
+	private static final byte[] DOT = SegmentBuffer.segment(".");
+
+	private static final byte[] INVOCATION_END = SegmentBuffer.segment(");" + NEW_LINE);
+
+	private final Executor executor;
+
+	private final SourceFragmentCache fragmentCache;
+
+	/**
+	 * Creates a new writer that renders compilation units sequentially.
+	 */
+	public JavaSourceCodeWriter() {
+		this(null);
+	}
+
+	/**
+	 * Creates a new writer that uses the given {@code executor}, if any, to render
+	 * compilation units concurrently.
+	 * @param executor the executor or {@code null} to render sequentially
+	 */
+	public JavaSourceCodeWriter(Executor executor) {
+		this(executor, null);
+	}
+
+	/**
+	 * Creates a new writer that uses the given {@code executor}, if any, to render
+	 * compilation units concurrently and the given {@code fragmentCache}, if any, to
+	 * reuse previously rendered fragments.
+	 * @param executor the executor or {@code null} to render sequentially
+	 * @param fragmentCache the fragment cache or {@code null} to always render
+	 */
+	public JavaSourceCodeWriter(Executor executor, SourceFragmentCache fragmentCache) {
+		this.executor = executor;
+		this.fragmentCache = fragmentCache;
+	}
+
 	@Override
-	public void writeTo(File directory, JavaSourceCode sourceCode) throws IOException {
-		if (!directory.isDirectory()) {
-			if (!directory.mkdirs()) {
-				throw new IllegalStateException("Directory '" + directory
-						+ "' did not exist and could not be made");
+	public void writeTo(ProjectOutput output, JavaSourceCode sourceCode)
+			throws IOException {
+		List<JavaCompilationUnit> compilationUnits = sourceCode.getCompilationUnits();
+		if (this.executor == null || compilationUnits.size() < 2) {
+			for (JavaCompilationUnit compilationUnit : compilationUnits) {
+				SegmentBuffer buffer = render(compilationUnit);
+				try {
+					writeTo(output, compilationUnit, buffer);
+				}
+				finally {
+					buffer.release();
+				}
 			}
+			return;
 		}
-		for (JavaCompilationUnit compilationUnit : sourceCode.getCompilationUnits()) {
-			writeTo(directory, compilationUnit);
+		List<CompletableFuture<SegmentBuffer>> renderings = new ArrayList<>();
+		for (JavaCompilationUnit compilationUnit : compilationUnits) {
+			renderings.add(CompletableFuture.supplyAsync(() -> render(compilationUnit),
+					this.executor));
+		}
+		try {
+			for (int i = 0; i < compilationUnits.size(); i++) {
+				writeTo(output, compilationUnits.get(i), renderings.get(i).join());
+			}
+		}
+		catch (CompletionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw ex;
+		}
+		finally {
+			for (CompletableFuture<SegmentBuffer> rendering : renderings) {
+				rendering.thenAccept(SegmentBuffer::release);
+			}
 		}
 	}
 
-	private void writeTo(File directory, JavaCompilationUnit compilationUnit)
-			throws IOException {
-		File output = fileForCompilationUnit(directory, compilationUnit);
-		output.getParentFile().mkdirs();
-		try (PrintWriter writer = new PrintWriter(new FileOutputStream(output))) {
-			writer.println("package " + compilationUnit.getPackageName() + ";");
-			writer.println();
-			List<String> imports = determineImports(compilationUnit);
-			if (!imports.isEmpty()) {
-				for (String importedType : imports) {
-					writer.println("import " + importedType + ";");
-				}
-				writer.println();
+	private void writeTo(ProjectOutput output, JavaCompilationUnit compilationUnit,
+			SegmentBuffer buffer) throws IOException {
+		try (OutputStream stream = output
+				.newOutputStream(pathForCompilationUnit(compilationUnit))) {
+			buffer.writeTo(stream);
+		}
+	}
+
+	private SegmentBuffer render(JavaCompilationUnit compilationUnit) {
+		SegmentBuffer buffer = SegmentBuffer.acquire();
+		try {
+			buffer.append(PACKAGE).append(compilationUnit.getPackageName())
+					.append(STATEMENT_END).append(NEW_LINE_SEGMENT);
+			if (this.fragmentCache == null) {
+				renderFragment(buffer, compilationUnit);
 			}
-			for (JavaTypeDeclaration type : compilationUnit.getTypeDeclarations()) {
-				for (Annotation annotation : type.getAnnotations()) {
-					writer.println("@" + getUnqualifiedName(annotation.getName()));
+			else {
+				buffer.append(this.fragmentCache.get(fragmentKey(compilationUnit),
+						() -> renderFragment(compilationUnit)));
+			}
+			return buffer;
+		}
+		catch (RuntimeException | Error ex) {
+			buffer.release();
+			throw ex;
+		}
+	}
+
+	private byte[] renderFragment(JavaCompilationUnit compilationUnit) {
+		SegmentBuffer buffer = SegmentBuffer.acquire();
+		try {
+			renderFragment(buffer, compilationUnit);
+			return buffer.toByteArray();
+		}
+		finally {
+			buffer.release();
+		}
+	}
+
+	private void renderFragment(SegmentBuffer buffer,
+			JavaCompilationUnit compilationUnit) {
+		SymbolTable symbols = new SymbolTable(compilationUnit);
+		Set<String> imports = symbols.getImports();
+		if (!imports.isEmpty()) {
+			for (String importedType : imports) {
+				buffer.append(IMPORT).append(importedType).append(STATEMENT_END);
+			}
+			buffer.append(NEW_LINE_SEGMENT);
+		}
+		for (JavaTypeDeclaration type : compilationUnit.getTypeDeclarations()) {
+			for (Annotation annotation : type.getAnnotations()) {
+				buffer.append(AT).append(symbols.nameOf(annotation.getName()))
+						.append(NEW_LINE_SEGMENT);
+			}
+			buffer.append(CLASS).append(type.getName()).append(CLASS_START);
+			for (JavaMethodDeclaration methodDeclaration : type.getMethodDeclarations()) {
+				writeMethod(buffer, symbols, methodDeclaration);
+			}
+			buffer.append(CLASS_END);
+		}
+	}
+
+	/**
+	 * Returns a key that describes the structure of the given unit's type declarations.
+	 * The unit's package only affects the rendered fragment, and is therefore only part
+	 * of the key, when the unit refers to a type in that package.
+	 * @param compilationUnit the compilation unit
+	 * @return the key
+	 */
+	private String fragmentKey(JavaCompilationUnit compilationUnit) {
+		String packagePrefix = compilationUnit.getPackageName() + ".";
+		StringBuilder key = new StringBuilder();
+		boolean referencesPackage = false;
+		for (JavaTypeDeclaration type : compilationUnit.getTypeDeclarations()) {
+			appendKey(key, 'T', type.getName());
+			for (Annotation annotation : type.getAnnotations()) {
+				referencesPackage |= appendKey(key, 'A', annotation.getName())
+						.startsWith(packagePrefix);
+			}
+			for (JavaMethodDeclaration method : type.getMethodDeclarations()) {
+				appendKey(key, method.isStatic() ? 'S' : 'M', method.getName());
+				referencesPackage |= appendKey(key, 'R', method.getReturnType())
+						.startsWith(packagePrefix);
+				for (Parameter parameter : method.getParameters()) {
+					referencesPackage |= appendKey(key, 'P', parameter.getType())
+							.startsWith(packagePrefix);
+					appendKey(key, 'N', parameter.getName());
 				}
-				writer.println("public class " + type.getName() + " {");
-				writer.println();
-				List<JavaMethodDeclaration> methodDeclarations = type
-						.getMethodDeclarations();
-				if (!methodDeclarations.isEmpty()) {
-					for (JavaMethodDeclaration methodDeclaration : methodDeclarations) {
-						writer.print("    public ");
-						if (methodDeclaration.isStatic()) {
-							writer.print("static ");
+				for (JavaStatement statement : method.getStatements()) {
+					if (statement instanceof JavaMethodInvocation) {
+						JavaMethodInvocation invocation = (JavaMethodInvocation) statement;
+						referencesPackage |= appendKey(key, 'I', invocation.getTarget())
+								.startsWith(packagePrefix);
+						appendKey(key, 'N', invocation.getName());
+						for (String argument : invocation.getArguments()) {
+							appendKey(key, 'V', argument);
 						}
-						writer.print(methodDeclaration.getReturnType() + " "
-								+ methodDeclaration.getName() + "(");
-						List<Parameter> parameters = methodDeclaration.getParameters();
-						if (!parameters.isEmpty()) {
-							writer.print(parameters.stream().map(
-									(parameter) -> getUnqualifiedName(parameter.getType())
-											+ " " + parameter.getName())
-									.collect(Collectors.joining(", ")));
-						}
-						writer.println(") {");
-						List<JavaStatement> statements = methodDeclaration
-								.getStatements();
-						for (JavaStatement statement : statements) {
-							if (statement instanceof JavaMethodInvocation) {
-								JavaMethodInvocation methodInvocation = (JavaMethodInvocation) statement;
-								writer.println(
-										"        "
-												+ getUnqualifiedName(
-														methodInvocation.getTarget())
-												+ "." + methodInvocation.getName() + "("
-												+ String.join(", ",
-														methodInvocation.getArguments())
-												+ ");");
-
-							}
-						}
-						writer.println("    }");
-						writer.println();
 					}
 				}
-				writer.println("}");
-				writer.println("");
 			}
 		}
+		if (referencesPackage) {
+			appendKey(key, 'K', compilationUnit.getPackageName());
+		}
+		return key.toString();
 	}
 
-	private File fileForCompilationUnit(File directory,
-			JavaCompilationUnit compilationUnit) {
-		return new File(directoryForPackage(directory, compilationUnit.getPackageName()),
-				compilationUnit.getName() + ".java");
-	}
-
-	private File directoryForPackage(File directory, String packageName) {
-		return new File(directory, packageName.replace('.', '/'));
+	private String appendKey(StringBuilder key, char kind, String value) {
+		key.append(kind).append(value.length()).append(':').append(value);
+		return value;
 	}
 
-	private List<String> determineImports(JavaCompilationUnit compilationUnit) {
-		List<String> imports = new ArrayList<String>();
-		for (JavaTypeDeclaration typeDeclaration : compilationUnit
-				.getTypeDeclarations()) {
-			imports.addAll(getRequiredImports(typeDeclaration.getAnnotations(),
-					Annotation::getName));
-			for (JavaMethodDeclaration methodDeclaration : typeDeclaration
-					.getMethodDeclarations()) {
-				if (requiresImport(methodDeclaration.getReturnType())) {
-					imports.add(methodDeclaration.getReturnType());
+	private void writeMethod(SegmentBuffer buffer, SymbolTable symbols,
+			JavaMethodDeclaration methodDeclaration) {
+		buffer.append(METHOD);
+		if (methodDeclaration.isStatic()) {
+			buffer.append(STATIC);
+		}
+		buffer.append(symbols.nameOf(methodDeclaration.getReturnType())).append(SPACE)
+				.append(methodDeclaration.getName()).append(OPEN_PARENTHESIS);
+		List<Parameter> parameters = methodDeclaration.getParameters();
+		for (int i = 0; i < parameters.size(); i++) {
+			if (i > 0) {
+				buffer.append(COMMA);
+			}
+			Parameter parameter = parameters.get(i);
+			buffer.append(symbols.nameOf(parameter.getType())).append(SPACE)
+					.append(parameter.getName());
+		}
+		buffer.append(METHOD_START);
+		for (JavaStatement statement : methodDeclaration.getStatements()) {
+			if (statement instanceof JavaMethodInvocation) {
+				JavaMethodInvocation methodInvocation = (JavaMethodInvocation) statement;
+				buffer.append(STATEMENT_INDENT)
+						.append(symbols.nameOf(methodInvocation.getTarget())).append(DOT)
+						.append(methodInvocation.getName()).append(OPEN_PARENTHESIS);
+				List<String> arguments = methodInvocation.getArguments();
+				for (int i = 0; i < arguments.size(); i++) {
+					if (i > 0) {
+						buffer.append(COMMA);
+					}
+					buffer.append(arguments.get(i));
 				}
-				imports.addAll(getRequiredImports(methodDeclaration.getParameters(),
-						Parameter::getType));
-				imports.addAll(getRequiredImports(
-						methodDeclaration.getStatements().stream()
-								.filter(JavaMethodInvocation.class::isInstance)
-								.map(JavaMethodInvocation.class::cast),
-						JavaMethodInvocation::getTarget));
+				buffer.append(INVOCATION_END);
 			}
 		}
-		return imports;
+		buffer.append(METHOD_END);
 	}
 
-	private <T> List<String> getRequiredImports(List<T> candidates,
-			Function<T, String> mapping) {
-		return getRequiredImports(candidates.stream(), mapping);
+	private String pathForCompilationUnit(JavaCompilationUnit compilationUnit) {
+		return compilationUnit.getPackageName().replace('.', '/') + "/"
+				+ compilationUnit.getName() + ".java";
 	}
 
-	private <T> List<String> getRequiredImports(Stream<T> candidates,
-			Function<T, String> mapping) {
-		return candidates.map(mapping).filter(this::requiresImport)
-				.collect(Collectors.toList());
-	}
+	/**
+	 * The names used by a compilation unit, resolved in a single pass over its types.
+	 * Each qualified name is resolved once to the name that should be used in the source.
+	 * The simple names of the unit's own types are reserved first, followed by those of
+	 * the referenced types that are visible without an import, that is types in the
+	 * unit's own package and then types in {@code java.lang}. The remaining types are
+	 * then imported unless their simple name has already been reserved or imported for
+	 * another type, in which case they remain qualified.
+	 */
+	static final class SymbolTable {
+
+		private final String packageName;
+
+		private final Map<String, String> names = new HashMap<>();
+
+		private final Map<String, String> qualifiedNamesBySimpleName = new HashMap<>();
+
+		private final Set<String> imports = new TreeSet<>();
+
+		SymbolTable(JavaCompilationUnit compilationUnit) {
+			this.packageName = compilationUnit.getPackageName();
+			List<String> referencedNames = new ArrayList<>();
+			for (JavaTypeDeclaration type : compilationUnit.getTypeDeclarations()) {
+				this.qualifiedNamesBySimpleName.put(type.getName(),
+						this.packageName + "." + type.getName());
+				for (Annotation annotation : type.getAnnotations()) {
+					referencedNames.add(annotation.getName());
+				}
+				for (JavaMethodDeclaration method : type.getMethodDeclarations()) {
+					referencedNames.add(method.getReturnType());
+					for (Parameter parameter : method.getParameters()) {
+						referencedNames.add(parameter.getType());
+					}
+					for (JavaStatement statement : method.getStatements()) {
+						if (statement instanceof JavaMethodInvocation) {
+							referencedNames
+									.add(((JavaMethodInvocation) statement).getTarget());
+						}
+					}
+				}
+			}
+			resolveAll(referencedNames, this.packageName);
+			resolveAll(referencedNames, "java.lang");
+			resolveAll(referencedNames, null);
+		}
 
-	private String getUnqualifiedName(String name) {
-		if (!name.contains(".")) {
-			return name;
+		private void resolveAll(List<String> names, String packageName) {
+			for (String name : names) {
+				if (packageName == null || packageName.equals(packageOf(name))) {
+					resolve(name);
+				}
+			}
+		}
+
+		private static String packageOf(String name) {
+			int lastDot = name.lastIndexOf('.');
+			return (lastDot != -1) ? name.substring(0, lastDot) : null;
+		}
+
+		/**
+		 * Returns the sorted, de-duplicated imports of the compilation unit.
+		 * @return the imports
+		 */
+		Set<String> getImports() {
+			return this.imports;
 		}
-		return name.substring(name.lastIndexOf(".") + 1);
-	}
 
-	private boolean requiresImport(String name) {
-		if (!name.contains(".")) {
-			return false;
+		/**
+		 * Returns the name to use in the compilation unit to refer to the given qualified
+		 * {@code name}.
+		 * @param name the qualified name
+		 * @return the name to use
+		 */
+		String nameOf(String name) {
+			String resolved = this.names.get(name);
+			return (resolved != null) ? resolved : resolve(name);
 		}
-		String packageName = name.substring(0, name.lastIndexOf('.'));
-		return !"java.lang".equals(packageName);
+
+		private String resolve(String name) {
+			String resolved = this.names.get(name);
+			if (resolved == null) {
+				resolved = doResolve(name);
+				this.names.put(name, resolved);
+			}
+			return resolved;
+		}
+
+		private String doResolve(String name) {
+			if (name.endsWith("[]")) {
+				return resolve(name.substring(0, name.length() - 2)) + "[]";
+			}
+			String packageName = packageOf(name);
+			if (packageName == null) {
+				return name;
+			}
+			String simpleName = name.substring(packageName.length() + 1);
+			String existing = this.qualifiedNamesBySimpleName.putIfAbsent(simpleName,
+					name);
+			if (existing != null) {
+				return existing.equals(name) ? simpleName : name;
+			}
+			if (!"java.lang".equals(packageName)
+					&& !packageName.equals(this.packageName)) {
+				this.imports.add(name);
+			}
+			return simpleName;
+		}
+
 	}
 
 }
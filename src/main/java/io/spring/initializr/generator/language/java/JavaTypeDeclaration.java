@@ -16,10 +16,10 @@
 
 package io.spring.initializr.generator.language.java;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import io.spring.initializr.generator.language.TypeDeclaration;
+import io.spring.initializr.generator.util.ForkableList;
 
 /**
  * A {@link TypeDeclaration declaration } of a type written in Java.
@@ -28,18 +28,29 @@ import io.spring.initializr.generator.language.TypeDeclaration;
  */
 public class JavaTypeDeclaration extends TypeDeclaration {
 
-	private final List<JavaMethodDeclaration> methodDeclarations = new ArrayList<>();
+	private final ForkableList<JavaMethodDeclaration> methodDeclarations;
 
 	JavaTypeDeclaration(String name) {
 		super(name);
+		this.methodDeclarations = new ForkableList<>();
+	}
+
+	private JavaTypeDeclaration(JavaTypeDeclaration source) {
+		super(source);
+		this.methodDeclarations = source.methodDeclarations.fork();
 	}
 
 	public void addMethodDeclaration(JavaMethodDeclaration methodDeclaration) {
-		this.methodDeclarations.add(methodDeclaration);
+		this.methodDeclarations.append(methodDeclaration);
 	}
 
 	public List<JavaMethodDeclaration> getMethodDeclarations() {
 		return this.methodDeclarations;
 	}
 
+	@Override
+	public JavaTypeDeclaration fork() {
+		return new JavaTypeDeclaration(this);
+	}
+
 }
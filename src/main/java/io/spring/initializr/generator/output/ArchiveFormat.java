@@ -0,0 +1,77 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The formats of archive in which a generated project can be streamed.
+ *
+ * @author Andy Wilkinson
+ */
+public enum ArchiveFormat {
+
+	/**
+	 * A zip archive.
+	 */
+	ZIP("zip") {
+
+		@Override
+		public ArchiveProjectOutput createOutput(OutputStream output) {
+			return new ZipProjectOutput(output);
+		}
+
+	},
+
+	/**
+	 * A gzipped tar archive.
+	 */
+	TAR_GZ("tar.gz") {
+
+		@Override
+		public ArchiveProjectOutput createOutput(OutputStream output) throws IOException {
+			return new TarGzProjectOutput(output);
+		}
+
+	};
+
+	private final String extension;
+
+	ArchiveFormat(String extension) {
+		this.extension = extension;
+	}
+
+	/**
+	 * Returns the file extension of archives in this format.
+	 * @return the extension
+	 */
+	public String getExtension() {
+		return this.extension;
+	}
+
+	/**
+	 * Creates an {@link ArchiveProjectOutput} that writes an archive in this format to
+	 * the given {@code output}.
+	 * @param output the stream to write the archive to
+	 * @return the archive output
+	 * @throws IOException if the output cannot be created
+	 */
+	public abstract ArchiveProjectOutput createOutput(OutputStream output)
+			throws IOException;
+
+}
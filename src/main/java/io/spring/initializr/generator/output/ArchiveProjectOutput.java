@@ -0,0 +1,162 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.output;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveOutputStream;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Base class for a {@link ProjectOutput} that writes the files of a generated project
+ * into an archive without writing them to disk first. Each file is added to the archive
+ * as soon as the stream that writes it is closed, so the archive can be sent while the
+ * rest of the project is still being generated. Entries are therefore in the order in
+ * which their files were written. Files written with {@link Option#APPEND} are the
+ * exception: they are held in memory, as further content may be appended to them, and are
+ * added in path order when the output is {@link #close() closed}. Writing to a file that
+ * is held in memory without {@code APPEND} replaces its content. A file that has already
+ * been added to the archive cannot be written again.
+ *
+ * @author Andy Wilkinson
+ */
+public abstract class ArchiveProjectOutput implements ProjectOutput, Closeable {
+
+	private final ArchiveOutputStream archive;
+
+	private final Set<String> addedPaths = new HashSet<>();
+
+	private final Map<String, AppendedFile> appendedFiles = new TreeMap<>();
+
+	private boolean closed;
+
+	protected ArchiveProjectOutput(ArchiveOutputStream archive) {
+		this.archive = archive;
+	}
+
+	@Override
+	public OutputStream newOutputStream(String path, Option... options) {
+		String normalizedPath = StringUtils.trimLeadingCharacter(path, '/');
+		List<Option> optionsList = Arrays.asList(options);
+		boolean executable = optionsList.contains(Option.EXECUTABLE);
+		if (optionsList.contains(Option.APPEND)) {
+			return new BufferingOutputStream(
+					(content) -> append(normalizedPath, content, executable));
+		}
+		return new BufferingOutputStream(
+				(content) -> write(normalizedPath, content, executable));
+	}
+
+	private synchronized void write(String path, byte[] content, boolean executable)
+			throws IOException {
+		assertWritable(path);
+		AppendedFile appendedFile = this.appendedFiles.get(path);
+		if (appendedFile != null) {
+			appendedFile.content.reset();
+			appendedFile.content.write(content);
+			appendedFile.executable = executable;
+			return;
+		}
+		addEntry(path, content.length, executable);
+		this.archive.write(content);
+		this.archive.closeArchiveEntry();
+	}
+
+	private synchronized void append(String path, byte[] content, boolean executable)
+			throws IOException {
+		assertWritable(path);
+		AppendedFile appendedFile = this.appendedFiles.computeIfAbsent(path,
+				(key) -> new AppendedFile());
+		appendedFile.content.write(content);
+		appendedFile.executable |= executable;
+	}
+
+	private void assertWritable(String path) {
+		if (this.closed) {
+			throw new IllegalStateException("Archive has already been closed");
+		}
+		if (this.addedPaths.contains(path)) {
+			throw new IllegalStateException(
+					"'" + path + "' has already been added to the archive");
+		}
+	}
+
+	private void addEntry(String path, long size, boolean executable) throws IOException {
+		this.archive.putArchiveEntry(createEntry(path, size, executable ? 0755 : 0644));
+		this.addedPaths.add(path);
+	}
+
+	/**
+	 * Creates the entry for the file at the given {@code path}.
+	 * @param path the path of the file
+	 * @param size the size of the file in bytes
+	 * @param mode the Unix permissions of the file
+	 * @return the entry
+	 */
+	protected abstract ArchiveEntry createEntry(String path, long size, int mode);
+
+	/**
+	 * Adds the appended files to the archive in path order, finishes it, and closes the
+	 * underlying stream.
+	 * @throws IOException if the archive cannot be completed
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (this.closed) {
+			return;
+		}
+		try {
+			for (Map.Entry<String, AppendedFile> entry : this.appendedFiles.entrySet()) {
+				AppendedFile appendedFile = entry.getValue();
+				addEntry(entry.getKey(), appendedFile.content.size(),
+						appendedFile.executable);
+				appendedFile.content.writeTo(this.archive);
+				this.archive.closeArchiveEntry();
+			}
+			this.appendedFiles.clear();
+			this.archive.finish();
+		}
+		finally {
+			this.closed = true;
+			this.archive.close();
+		}
+	}
+
+	/**
+	 * A file, written with {@link Option#APPEND}, that has yet to be added to the
+	 * archive.
+	 */
+	private static final class AppendedFile {
+
+		private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+		private boolean executable;
+
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.output;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * An {@link ByteArrayOutputStream} that passes the buffered content to a handler when it
+ * is first closed.
+ *
+ * @author Andy Wilkinson
+ */
+class BufferingOutputStream extends ByteArrayOutputStream {
+
+	private final ContentHandler handler;
+
+	private boolean closed;
+
+	BufferingOutputStream(ContentHandler handler) {
+		this.handler = handler;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (!this.closed) {
+			this.closed = true;
+			this.handler.handle(toByteArray());
+		}
+	}
+
+	/**
+	 * Callback for handling the content of a closed stream.
+	 */
+	@FunctionalInterface
+	interface ContentHandler {
+
+		void handle(byte[] content) throws IOException;
+
+	}
+
+}
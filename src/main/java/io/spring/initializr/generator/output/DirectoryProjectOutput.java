@@ -0,0 +1,193 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import io.spring.initializr.generator.resource.PackedResource;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * A {@link ProjectOutput} that writes to a directory. The directory can be on any
+ * {@link java.nio.file.FileSystem}, for example an in-memory or zip file system, not just
+ * the default one.
+ * <p>
+ * {@link PackedResource Static resources} are not copied through the heap. They are
+ * copied from the resource's extracted file using {@link FileChannel#transferTo}, falling
+ * back to a stream copy when the directory is on a different file system. Alternatively,
+ * an output can be created that hard links files to the extracted files where possible.
+ * As linked files share their content with every other project, they are read-only and
+ * must only be modified through this output, which unlinks them before they are written
+ * to.
+ *
+ * @author Andy Wilkinson
+ */
+public class DirectoryProjectOutput implements ProjectOutput {
+
+	private final Path root;
+
+	private final boolean linkResources;
+
+	/**
+	 * Creates a new output that writes to the given {@code root} directory, copying
+	 * static resources.
+	 * @param root the root directory
+	 */
+	public DirectoryProjectOutput(Path root) {
+		this(root, false);
+	}
+
+	/**
+	 * Creates a new output that writes to the given {@code root} directory.
+	 * @param root the root directory
+	 * @param linkResources whether static resources should be hard linked rather than
+	 * copied where possible
+	 */
+	public DirectoryProjectOutput(Path root, boolean linkResources) {
+		this.root = root;
+		this.linkResources = linkResources;
+	}
+
+	/**
+	 * Returns the root directory to which this output writes.
+	 * @return the root directory
+	 */
+	public Path getRoot() {
+		return this.root;
+	}
+
+	@Override
+	public OutputStream newOutputStream(String path, Option... options)
+			throws IOException {
+		Path file = createFile(path);
+		List<Option> optionsList = Arrays.asList(options);
+		if (this.linkResources) {
+			unlink(file, optionsList.contains(Option.APPEND));
+		}
+		StandardOpenOption mode = optionsList.contains(Option.APPEND)
+				? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+		OutputStream stream = Files.newOutputStream(file, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, mode);
+		if (optionsList.contains(Option.EXECUTABLE)) {
+			makeExecutable(file);
+		}
+		return stream;
+	}
+
+	@Override
+	public void write(String path, PackedResource resource, Option... options)
+			throws IOException {
+		List<Option> optionsList = Arrays.asList(options);
+		Path source = resource.getFile();
+		if (optionsList.contains(Option.APPEND)
+				|| source.getFileSystem() != this.root.getFileSystem()) {
+			ProjectOutput.super.write(path, resource, options);
+			return;
+		}
+		Path file = createFile(path);
+		boolean executable = optionsList.contains(Option.EXECUTABLE);
+		// Linking an executable would change the permissions of the shared file
+		if (!this.linkResources || executable || !link(source, file)) {
+			transfer(source, file);
+			if (executable) {
+				makeExecutable(file);
+			}
+		}
+	}
+
+	private Path createFile(String path) throws IOException {
+		Path file = this.root.resolve(StringUtils.trimLeadingCharacter(path, '/'));
+		Path parent = file.getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		return file;
+	}
+
+	private boolean link(Path source, Path file) throws IOException {
+		Files.deleteIfExists(file);
+		try {
+			Files.createLink(file, source);
+			return true;
+		}
+		catch (UnsupportedOperationException | FileSystemException ex) {
+			return false;
+		}
+	}
+
+	private void transfer(Path source, Path file) throws IOException {
+		Files.deleteIfExists(file);
+		try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+				FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+						StandardOpenOption.WRITE)) {
+			long size = in.size();
+			long position = 0;
+			while (position < size) {
+				position += in.transferTo(position, size - position, out);
+			}
+		}
+	}
+
+	private void unlink(Path file, boolean preserveContent) throws IOException {
+		if (!isHardLinked(file)) {
+			return;
+		}
+		if (preserveContent) {
+			Path copy = Files.createTempFile(file.getParent(), ".unlink-", null);
+			transfer(file, copy);
+			Files.move(copy, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+		else {
+			Files.delete(file);
+		}
+	}
+
+	private boolean isHardLinked(Path file) throws IOException {
+		if (!file.getFileSystem().supportedFileAttributeViews().contains("unix")
+				|| !Files.exists(file)) {
+			return false;
+		}
+		return ((Number) Files.getAttribute(file, "unix:nlink")).intValue() > 1;
+	}
+
+	private void makeExecutable(Path file) throws IOException {
+		PosixFileAttributeView attributes = Files.getFileAttributeView(file,
+				PosixFileAttributeView.class);
+		if (attributes != null) {
+			Set<PosixFilePermission> permissions = attributes.readAttributes()
+					.permissions();
+			permissions.add(PosixFilePermission.OWNER_EXECUTE);
+			permissions.add(PosixFilePermission.GROUP_EXECUTE);
+			permissions.add(PosixFilePermission.OTHERS_EXECUTE);
+			attributes.setPermissions(permissions);
+		}
+	}
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import io.spring.initializr.generator.resource.PackedResource;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * A {@link ProjectOutput} that resolves paths against a directory of another output.
+ *
+ * @author Andy Wilkinson
+ */
+class DirectoryScopedProjectOutput implements ProjectOutput {
+
+	private final ProjectOutput parent;
+
+	private final String directory;
+
+	DirectoryScopedProjectOutput(ProjectOutput parent, String directory) {
+		this.parent = parent;
+		this.directory = StringUtils.trimTrailingCharacter(directory, '/');
+	}
+
+	@Override
+	public OutputStream newOutputStream(String path, Option... options)
+			throws IOException {
+		return this.parent.newOutputStream(resolvePath(path), options);
+	}
+
+	@Override
+	public void write(String path, PackedResource resource, Option... options)
+			throws IOException {
+		this.parent.write(resolvePath(path), resource, options);
+	}
+
+	@Override
+	public ProjectOutput resolve(String directory) {
+		return new DirectoryScopedProjectOutput(this.parent, resolvePath(directory));
+	}
+
+	private String resolvePath(String path) {
+		if (this.directory.isEmpty()) {
+			return path;
+		}
+		return this.directory + "/" + StringUtils.trimLeadingCharacter(path, '/');
+	}
+
+}
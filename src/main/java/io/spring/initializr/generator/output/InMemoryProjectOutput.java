@@ -0,0 +1,109 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * A {@link ProjectOutput} that holds the files of a generated project in memory. The
+ * files can be {@link #writeTo(ProjectOutput) written} to another output, for example one
+ * on disk, if required.
+ *
+ * @author Andy Wilkinson
+ */
+public class InMemoryProjectOutput implements ProjectOutput {
+
+	private final NavigableMap<String, byte[]> files = new ConcurrentSkipListMap<>();
+
+	private final Set<String> executables = ConcurrentHashMap.newKeySet();
+
+	@Override
+	public OutputStream newOutputStream(String path, Option... options) {
+		String normalizedPath = StringUtils.trimLeadingCharacter(path, '/');
+		boolean append = Arrays.asList(options).contains(Option.APPEND);
+		if (Arrays.asList(options).contains(Option.EXECUTABLE)) {
+			this.executables.add(normalizedPath);
+		}
+		return new BufferingOutputStream((content) -> {
+			if (append) {
+				this.files.merge(normalizedPath, content, InMemoryProjectOutput::concat);
+			}
+			else {
+				this.files.put(normalizedPath, content);
+			}
+		});
+	}
+
+	/**
+	 * Returns the paths of the files, in alphabetical order.
+	 * @return the paths of the files
+	 */
+	public Set<String> getPaths() {
+		return Collections.unmodifiableSet(this.files.keySet());
+	}
+
+	/**
+	 * Returns the content of the file at the given {@code path}.
+	 * @param path the path of the file
+	 * @return the content of the file or {@code null} if there is no such file
+	 */
+	public byte[] getContent(String path) {
+		byte[] content = this.files.get(StringUtils.trimLeadingCharacter(path, '/'));
+		return (content != null) ? content.clone() : null;
+	}
+
+	/**
+	 * Returns whether the file at the given {@code path} is executable.
+	 * @param path the path of the file
+	 * @return {@code true} if the file is executable, otherwise {@code false}
+	 */
+	public boolean isExecutable(String path) {
+		return this.executables.contains(StringUtils.trimLeadingCharacter(path, '/'));
+	}
+
+	/**
+	 * Writes all of the files, in alphabetical order of their paths, to the given
+	 * {@code output}.
+	 * @param output the output to write to
+	 * @throws IOException if writing fails
+	 */
+	public void writeTo(ProjectOutput output) throws IOException {
+		for (String path : this.files.keySet()) {
+			Option[] options = this.executables.contains(path)
+					? new Option[] { Option.EXECUTABLE } : new Option[0];
+			FileCopyUtils.copy(this.files.get(path),
+					output.newOutputStream(path, options));
+		}
+	}
+
+	private static byte[] concat(byte[] existing, byte[] additional) {
+		byte[] content = Arrays.copyOf(existing, existing.length + additional.length);
+		System.arraycopy(additional, 0, content, existing.length, additional.length);
+		return content;
+	}
+
+}
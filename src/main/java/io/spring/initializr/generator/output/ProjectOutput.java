@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import io.spring.initializr.generator.resource.PackedResource;
+
+/**
+ * The output to which the files of a generated project are written. Paths are relative to
+ * the root of the project and use {@code /} as their separator.
+ *
+ * @author Andy Wilkinson
+ */
+public interface ProjectOutput {
+
+	/**
+	 * Opens a stream that writes to the file at the given {@code path}. The file, and any
+	 * parent directories, are created if they do not already exist. Unless
+	 * {@link Option#APPEND} is specified, any existing content is replaced. The written
+	 * content is only guaranteed to be visible once the stream has been closed.
+	 * @param path the path of the file, relative to the root of the project
+	 * @param options the options describing how the file should be written
+	 * @return the stream
+	 * @throws IOException if the stream cannot be opened
+	 */
+	OutputStream newOutputStream(String path, Option... options) throws IOException;
+
+	/**
+	 * Writes the given static {@code resource} to the file at the given {@code path}.
+	 * Outputs may override this method to avoid copying the content of the resource, for
+	 * example by linking to a file that already contains it.
+	 * @param path the path of the file, relative to the root of the project
+	 * @param resource the resource to write
+	 * @param options the options describing how the file should be written
+	 * @throws IOException if the resource cannot be written
+	 */
+	default void write(String path, PackedResource resource, Option... options)
+			throws IOException {
+		try (OutputStream stream = newOutputStream(path, options)) {
+			resource.writeTo(stream);
+		}
+	}
+
+	/**
+	 * Returns a {@link ProjectOutput} that resolves paths against the given
+	 * {@code directory} and writes to this output.
+	 * @param directory the directory, relative to the root of the project
+	 * @return the output for the directory
+	 */
+	default ProjectOutput resolve(String directory) {
+		return new DirectoryScopedProjectOutput(this, directory);
+	}
+
+	/**
+	 * Options describing how a file should be written.
+	 */
+	enum Option {
+
+		/**
+		 * Append to the existing content of the file, if any.
+		 */
+		APPEND,
+
+		/**
+		 * Mark the file as executable.
+		 */
+		EXECUTABLE
+
+	}
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+
+/**
+ * An {@link ArchiveProjectOutput} that streams a generated project as a gzipped tar
+ * archive.
+ *
+ * @author Andy Wilkinson
+ */
+public class TarGzProjectOutput extends ArchiveProjectOutput {
+
+	private static final int REGULAR_FILE = 0100000;
+
+	/**
+	 * Creates a new output that writes a gzipped tar archive to the given {@code output},
+	 * for example the body of an HTTP response.
+	 * @param output the stream to write the archive to
+	 * @throws IOException if the gzip header cannot be written
+	 */
+	public TarGzProjectOutput(OutputStream output) throws IOException {
+		super(createArchive(output));
+	}
+
+	private static TarArchiveOutputStream createArchive(OutputStream output)
+			throws IOException {
+		TarArchiveOutputStream archive = new TarArchiveOutputStream(
+				new GzipCompressorOutputStream(output));
+		archive.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+		return archive;
+	}
+
+	@Override
+	protected ArchiveEntry createEntry(String path, long size, int mode) {
+		TarArchiveEntry entry = new TarArchiveEntry(path);
+		entry.setSize(size);
+		entry.setMode(REGULAR_FILE | mode);
+		return entry;
+	}
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.output;
+
+import java.io.OutputStream;
+
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.zip.UnixStat;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+
+/**
+ * An {@link ArchiveProjectOutput} that streams a generated project as a zip archive.
+ *
+ * @author Andy Wilkinson
+ */
+public class ZipProjectOutput extends ArchiveProjectOutput {
+
+	/**
+	 * Creates a new output that writes a zip archive to the given {@code output}, for
+	 * example the body of an HTTP response.
+	 * @param output the stream to write the archive to
+	 */
+	public ZipProjectOutput(OutputStream output) {
+		super(new ZipArchiveOutputStream(output));
+	}
+
+	@Override
+	protected ArchiveEntry createEntry(String path, long size, int mode) {
+		ZipArchiveEntry entry = new ZipArchiveEntry(path);
+		entry.setSize(size);
+		entry.setUnixMode(UnixStat.FILE_FLAG | mode);
+		return entry;
+	}
+
+}
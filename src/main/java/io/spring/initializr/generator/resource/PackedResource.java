@@ -0,0 +1,103 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * An immutable, in-memory copy of a static resource held in a {@link ResourcePack}. The
+ * resource can also be {@link #getFile() extracted} to a file so that outputs that write
+ * to disk can link to or copy it without going through the heap.
+ *
+ * @author Andy Wilkinson
+ */
+public final class PackedResource {
+
+	private final String path;
+
+	private final byte[] content;
+
+	private final ResourcePack pack;
+
+	private volatile Path file;
+
+	PackedResource(String path, byte[] content, ResourcePack pack) {
+		this.path = path;
+		this.content = content;
+		this.pack = pack;
+	}
+
+	/**
+	 * Returns the path of the resource, relative to the location from which it was
+	 * loaded, using {@code /} as the separator.
+	 * @return the path
+	 */
+	public String getPath() {
+		return this.path;
+	}
+
+	/**
+	 * Returns the size of the resource in bytes.
+	 * @return the size
+	 */
+	public int getSize() {
+		return this.content.length;
+	}
+
+	/**
+	 * Returns a new {@link InputStream} that reads the content of the resource.
+	 * @return the input stream
+	 */
+	public InputStream getInputStream() {
+		return new ByteArrayInputStream(this.content);
+	}
+
+	/**
+	 * Writes the content of the resource to the given {@code output}. The stream is not
+	 * closed.
+	 * @param output the stream to write to
+	 * @throws IOException if writing fails
+	 */
+	public void writeTo(OutputStream output) throws IOException {
+		output.write(this.content);
+	}
+
+	/**
+	 * Returns a file containing the content of the resource, extracting it to the pack's
+	 * extraction directory the first time that it is called. The file is shared and must
+	 * not be modified.
+	 * @return the file
+	 * @throws IOException if the resource cannot be extracted
+	 */
+	public Path getFile() throws IOException {
+		Path file = this.file;
+		if (file == null) {
+			synchronized (this) {
+				if (this.file == null) {
+					this.file = this.pack.extract(this.path, this.content);
+				}
+				file = this.file;
+			}
+		}
+		return file;
+	}
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.resource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.StringUtils;
+
+/**
+ * An index of the resources beneath each root location. The index is populated from the
+ * {@code META-INF/resource-index.properties} manifests on the classpath, each of which
+ * maps a classpath root, for example {@code maven/wrapper}, to a comma-separated list of
+ * the paths of the resources beneath it. Roots that are not described by a manifest are
+ * scanned, once, the first time that they are requested.
+ *
+ * @author Andy Wilkinson
+ */
+public final class ResourceIndex {
+
+	static final String MANIFEST_LOCATION = "classpath*:META-INF/resource-index.properties";
+
+	private static final String CLASSPATH_PREFIX = "classpath:";
+
+	private final ResourcePatternResolver resolver;
+
+	private final Map<String, List<String>> manifest;
+
+	private final Map<String, List<Entry>> entries = new ConcurrentHashMap<>();
+
+	ResourceIndex(ResourcePatternResolver resolver) {
+		this(resolver, loadManifest(resolver));
+	}
+
+	ResourceIndex(ResourcePatternResolver resolver, Map<String, List<String>> manifest) {
+		this.resolver = resolver;
+		this.manifest = manifest;
+	}
+
+	private static Map<String, List<String>> loadManifest(
+			ResourcePatternResolver resolver) {
+		Map<String, List<String>> manifest = new HashMap<>();
+		try {
+			for (Resource resource : resolver.getResources(MANIFEST_LOCATION)) {
+				Properties properties = PropertiesLoaderUtils.loadProperties(resource);
+				for (String root : properties.stringPropertyNames()) {
+					manifest.put(CLASSPATH_PREFIX + root,
+							Collections.unmodifiableList(StringUtils
+									.commaDelimitedListToSet(properties.getProperty(root))
+									.stream().map(String::trim).sorted()
+									.collect(Collectors.toList())));
+				}
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to load resource index manifests", ex);
+		}
+		return manifest;
+	}
+
+	/**
+	 * Returns the entries for the resources beneath the given {@code rootLocation},
+	 * ordered by their path relative to the root.
+	 * @param rootLocation the root location
+	 * @return the entries
+	 * @throws IOException if the root location cannot be scanned
+	 */
+	public List<Entry> getEntries(String rootLocation) throws IOException {
+		try {
+			return this.entries.computeIfAbsent(rootLocation, this::index);
+		}
+		catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+	}
+
+	/**
+	 * Returns whether the resources beneath the given {@code rootLocation} are described
+	 * by a manifest, rather than being found by scanning.
+	 * @param rootLocation the root location
+	 * @return {@code true} if the root location is described by a manifest
+	 */
+	public boolean isManifested(String rootLocation) {
+		return this.manifest.containsKey(rootLocation);
+	}
+
+	/**
+	 * Returns the root locations that are described by a manifest.
+	 * @return the manifested root locations
+	 */
+	Set<String> getManifestedRoots() {
+		return Collections.unmodifiableSet(this.manifest.keySet());
+	}
+
+	private List<Entry> index(String rootLocation) {
+		try {
+			List<String> manifested = this.manifest.get(rootLocation);
+			return (manifested != null) ? lookUp(rootLocation, manifested)
+					: scan(rootLocation);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private List<Entry> lookUp(String rootLocation, List<String> paths)
+			throws IOException {
+		List<Entry> entries = new ArrayList<>();
+		for (String path : paths) {
+			Resource resource = this.resolver.getResource(rootLocation + "/" + path);
+			if (!resource.isReadable()) {
+				throw new IOException("Resource '" + path + "' listed in the index of '"
+						+ rootLocation + "' does not exist");
+			}
+			entries.add(new Entry(path, resource));
+		}
+		return Collections.unmodifiableList(entries);
+	}
+
+	private List<Entry> scan(String rootLocation) throws IOException {
+		String rootUrl = StringUtils.trimTrailingCharacter(
+				this.resolver.getResource(rootLocation).getURL().toString(), '/');
+		List<Entry> entries = new ArrayList<>();
+		for (Resource resource : this.resolver.getResources(rootLocation + "/**")) {
+			String url = resource.getURL().toString();
+			if (resource.isReadable() && !url.endsWith("/") && url.startsWith(rootUrl)) {
+				String path = StringUtils
+						.trimLeadingCharacter(url.substring(rootUrl.length()), '/');
+				entries.add(new Entry(path, resource));
+			}
+		}
+		entries.sort(Comparator.comparing(Entry::getPath));
+		return Collections.unmodifiableList(entries);
+	}
+
+	/**
+	 * An entry in the index.
+	 */
+	public static final class Entry {
+
+		private final String path;
+
+		private final Resource resource;
+
+		private Entry(String path, Resource resource) {
+			this.path = path;
+			this.resource = resource;
+		}
+
+		/**
+		 * Returns the path of the resource relative to its root location.
+		 * @return the path
+		 */
+		public String getPath() {
+			return this.path;
+		}
+
+		/**
+		 * Returns the resource.
+		 * @return the resource
+		 */
+		public Resource getResource() {
+			return this.resource;
+		}
+
+		/**
+		 * Returns the size of the resource in bytes.
+		 * @return the size
+		 * @throws IOException if the size cannot be determined
+		 */
+		public long getSize() throws IOException {
+			return this.resource.contentLength();
+		}
+
+	}
+
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.resource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * A thread-safe, in-memory pack of the static resources that are copied into generated
+ * projects. Each location is resolved and read once, the first time that it is requested,
+ * and is then served from memory. The resources beneath a root location are found using a
+ * {@link ResourceIndex}. A pack is shared by everything that uses the same
+ * {@link ClassLoader}.
+ * <p>
+ * Resources that are written to disk are first extracted, once, to a private extraction
+ * directory from which they can be copied by the kernel, or hard linked, into each
+ * generated project. When the extraction directory is a temporary directory created by
+ * the pack, it is deleted when the JVM shuts down.
+ *
+ * @author Andy Wilkinson
+ */
+public final class ResourcePack {
+
+	private static final Map<ClassLoader, ResourcePack> packs = new ConcurrentReferenceHashMap<>();
+
+	private final ResourcePatternResolver resolver;
+
+	private final ResourceIndex index;
+
+	private final Map<String, PackedResource> resources = new ConcurrentHashMap<>();
+
+	private final Map<String, List<PackedResource>> trees = new ConcurrentHashMap<>();
+
+	private Path extractionDirectory;
+
+	ResourcePack(ResourcePatternResolver resolver) {
+		this.resolver = resolver;
+		this.index = new ResourceIndex(resolver);
+	}
+
+	/**
+	 * Returns the pack of the resources that are visible to the given
+	 * {@code classLoader}.
+	 * @param classLoader the class loader used to load the resources
+	 * @return the pack
+	 */
+	public static ResourcePack get(ClassLoader classLoader) {
+		Assert.notNull(classLoader, "ClassLoader must not be null");
+		return packs.computeIfAbsent(classLoader,
+				(key) -> new ResourcePack(new PathMatchingResourcePatternResolver(key)));
+	}
+
+	/**
+	 * Returns the single resource at the given {@code location}.
+	 * @param location the location of the resource
+	 * @return the resource
+	 * @throws IOException if the resource cannot be read
+	 */
+	public PackedResource getResource(String location) throws IOException {
+		try {
+			return this.resources.computeIfAbsent(location, this::load);
+		}
+		catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+	}
+
+	/**
+	 * Returns the index used to find the resources beneath a root location.
+	 * @return the resource index
+	 */
+	public ResourceIndex getIndex() {
+		return this.index;
+	}
+
+	/**
+	 * Returns all of the resources beneath the given {@code rootLocation}, ordered by
+	 * their path relative to the root.
+	 * @param rootLocation the root location
+	 * @return the resources
+	 * @throws IOException if the resources cannot be read
+	 */
+	public List<PackedResource> getResources(String rootLocation) throws IOException {
+		try {
+			return this.trees.computeIfAbsent(rootLocation, this::loadTree);
+		}
+		catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+	}
+
+	/**
+	 * Loads the resources beneath each of the given root locations so that they are
+	 * already in memory when they are first needed. Intended to be called during startup.
+	 * @param rootLocations the root locations
+	 * @throws IOException if the resources cannot be read
+	 */
+	public void warmUp(String... rootLocations) throws IOException {
+		for (String rootLocation : rootLocations) {
+			getResources(rootLocation);
+		}
+	}
+
+	/**
+	 * Sets the directory to which resources are extracted when they are first needed as
+	 * files. When not set, a new temporary directory is used.
+	 * @param extractionDirectory the extraction directory
+	 */
+	public synchronized void setExtractionDirectory(Path extractionDirectory) {
+		this.extractionDirectory = extractionDirectory;
+	}
+
+	synchronized Path extract(String path, byte[] content) throws IOException {
+		if (this.extractionDirectory == null) {
+			this.extractionDirectory = createTemporaryExtractionDirectory();
+		}
+		Files.createDirectories(this.extractionDirectory);
+		Path file = Files.createTempFile(this.extractionDirectory, "resource-",
+				"-" + StringUtils.getFilename(path));
+		Files.write(file, content);
+		PosixFileAttributeView attributes = Files.getFileAttributeView(file,
+				PosixFileAttributeView.class);
+		if (attributes != null) {
+			attributes.setPermissions(PosixFilePermissions.fromString("r--r--r--"));
+		}
+		return file;
+	}
+
+	private static Path createTemporaryExtractionDirectory() throws IOException {
+		Path directory = Files.createTempDirectory("resource-pack-");
+		Runtime.getRuntime()
+				.addShutdownHook(new Thread(
+						() -> FileSystemUtils.deleteRecursively(directory.toFile()),
+						"resource-pack-cleanup"));
+		return directory;
+	}
+
+	/**
+	 * Returns a report of the memory used by the content of the resources in this pack.
+	 * @return the footprint
+	 */
+	public ResourcePackFootprint getFootprint() {
+		Map<String, Long> bytesByLocation = new HashMap<>();
+		int resourceCount = 0;
+		for (Map.Entry<String, PackedResource> entry : this.resources.entrySet()) {
+			bytesByLocation.put(entry.getKey(), (long) entry.getValue().getSize());
+			resourceCount++;
+		}
+		for (Map.Entry<String, List<PackedResource>> entry : this.trees.entrySet()) {
+			bytesByLocation.put(entry.getKey(),
+					entry.getValue().stream().mapToLong(PackedResource::getSize).sum());
+			resourceCount += entry.getValue().size();
+		}
+		return new ResourcePackFootprint(bytesByLocation, resourceCount);
+	}
+
+	private PackedResource load(String location) {
+		try {
+			Resource resource = this.resolver.getResource(location);
+			return new PackedResource(resource.getFilename(),
+					FileCopyUtils.copyToByteArray(resource.getInputStream()), this);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private List<PackedResource> loadTree(String rootLocation) {
+		try {
+			List<PackedResource> tree = new ArrayList<>();
+			for (ResourceIndex.Entry entry : this.index.getEntries(rootLocation)) {
+				tree.add(new PackedResource(entry.getPath(), FileCopyUtils
+						.copyToByteArray(entry.getResource().getInputStream()), this));
+			}
+			return Collections.unmodifiableList(tree);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.resource;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A snapshot of the memory used by the content of a {@link ResourcePack}.
+ *
+ * @author Andy Wilkinson
+ */
+public final class ResourcePackFootprint {
+
+	private final Map<String, Long> bytesByLocation;
+
+	private final int resourceCount;
+
+	ResourcePackFootprint(Map<String, Long> bytesByLocation, int resourceCount) {
+		this.bytesByLocation = Collections
+				.unmodifiableMap(new TreeMap<>(bytesByLocation));
+		this.resourceCount = resourceCount;
+	}
+
+	/**
+	 * Returns the number of resources held in memory.
+	 * @return the number of resources
+	 */
+	public int getResourceCount() {
+		return this.resourceCount;
+	}
+
+	/**
+	 * Returns the total size, in bytes, of the resources held in memory.
+	 * @return the total size
+	 */
+	public long getTotalBytes() {
+		return this.bytesByLocation.values().stream().mapToLong(Long::longValue).sum();
+	}
+
+	/**
+	 * Returns the size, in bytes, of the resources loaded from each location, ordered by
+	 * location.
+	 * @return the size of the resources by location
+	 */
+	public Map<String, Long> getBytesByLocation() {
+		return this.bytesByLocation;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder report = new StringBuilder();
+		report.append(this.resourceCount).append(" resources, ").append(getTotalBytes())
+				.append(" bytes");
+		this.bytesByLocation.forEach((location, bytes) -> report
+				.append(String.format("%n  %s: %d bytes", location, bytes)));
+		return report.toString();
+	}
+
+}
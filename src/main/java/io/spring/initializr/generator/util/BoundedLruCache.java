@@ -0,0 +1,178 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import org.springframework.util.Assert;
+
+/**
+ * A thread-safe cache that is bounded by its number of entries and, optionally, by the
+ * total weight of their values. When either bound is exceeded, the least recently used
+ * entries are evicted. Values are computed outside of the cache's lock so that a slow
+ * computation does not block other lookups. As a result, concurrent lookups of the same
+ * missing key may each compute its value.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @author Andy Wilkinson
+ */
+public class BoundedLruCache<K, V> {
+
+	private final int maximumSize;
+
+	private final long maximumWeight;
+
+	private final ToLongFunction<? super V> weigher;
+
+	private final Map<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long weight;
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * Creates a new cache that will hold, at most, the given number of entries.
+	 * @param maximumSize the maximum number of entries
+	 */
+	public BoundedLruCache(int maximumSize) {
+		this(maximumSize, Long.MAX_VALUE, (value) -> 0);
+	}
+
+	/**
+	 * Creates a new cache that will hold, at most, the given number of entries whose
+	 * values, as measured by the given {@code weigher}, weigh, at most,
+	 * {@code maximumWeight} in total. A value that is heavier than the maximum weight is
+	 * never cached.
+	 * @param maximumSize the maximum number of entries
+	 * @param maximumWeight the maximum total weight of the values
+	 * @param weigher the function used to weigh each value
+	 */
+	public BoundedLruCache(int maximumSize, long maximumWeight,
+			ToLongFunction<? super V> weigher) {
+		Assert.isTrue(maximumSize > 0, "MaximumSize must be greater than zero");
+		Assert.isTrue(maximumWeight > 0, "MaximumWeight must be greater than zero");
+		Assert.notNull(weigher, "Weigher must not be null");
+		this.maximumSize = maximumSize;
+		this.maximumWeight = maximumWeight;
+		this.weigher = weigher;
+	}
+
+	/**
+	 * Returns the cached value for the given {@code key}, using the given {@code loader}
+	 * to compute and cache it if it is not known.
+	 * @param key the key
+	 * @param loader the loader to use on a cache miss
+	 * @return the value
+	 */
+	public V get(K key, Supplier<? extends V> loader) {
+		V value;
+		synchronized (this.entries) {
+			value = this.entries.get(key);
+		}
+		if (value != null) {
+			this.hitCount.incrementAndGet();
+			return value;
+		}
+		this.missCount.incrementAndGet();
+		value = loader.get();
+		put(key, value);
+		return value;
+	}
+
+	private void put(K key, V value) {
+		long valueWeight = this.weigher.applyAsLong(value);
+		if (valueWeight > this.maximumWeight) {
+			return;
+		}
+		synchronized (this.entries) {
+			V previous = this.entries.put(key, value);
+			this.weight += valueWeight
+					- ((previous != null) ? this.weigher.applyAsLong(previous) : 0);
+			Iterator<V> eldest = this.entries.values().iterator();
+			while ((this.entries.size() > this.maximumSize
+					|| this.weight > this.maximumWeight) && eldest.hasNext()) {
+				this.weight -= this.weigher.applyAsLong(eldest.next());
+				eldest.remove();
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of lookups that were served from the cache.
+	 * @return the hit count
+	 */
+	public long getHitCount() {
+		return this.hitCount.get();
+	}
+
+	/**
+	 * Returns the number of lookups that required a value to be computed.
+	 * @return the miss count
+	 */
+	public long getMissCount() {
+		return this.missCount.get();
+	}
+
+	/**
+	 * Returns the proportion of lookups that were served from the cache.
+	 * @return the hit rate, between {@code 0.0} and {@code 1.0}
+	 */
+	public double getHitRate() {
+		long hits = this.hitCount.get();
+		long total = hits + this.missCount.get();
+		return (total != 0) ? (double) hits / total : 0.0;
+	}
+
+	/**
+	 * Returns the number of entries that are currently cached.
+	 * @return the size of the cache
+	 */
+	public int size() {
+		synchronized (this.entries) {
+			return this.entries.size();
+		}
+	}
+
+	/**
+	 * Returns the total weight of the values that are currently cached.
+	 * @return the weight of the cache
+	 */
+	public long getWeight() {
+		synchronized (this.entries) {
+			return this.weight;
+		}
+	}
+
+	/**
+	 * Removes all of the cached entries.
+	 */
+	public void clear() {
+		synchronized (this.entries) {
+			this.entries.clear();
+			this.weight = 0;
+		}
+	}
+
+}
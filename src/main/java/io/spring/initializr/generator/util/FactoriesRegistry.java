@@ -0,0 +1,133 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.util;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * A thread-safe registry of the factories of a particular type that are declared in
+ * {@code META-INF/spring.factories}. Factories are loaded and instantiated once per
+ * {@link ClassLoader} and the objects that they create are cached by creator and id so
+ * that subsequent lookups do not involve the factories at all.
+ *
+ * @param <F> the factory type
+ * @author Andy Wilkinson
+ * @see SpringFactoriesLoader
+ */
+public final class FactoriesRegistry<F> {
+
+	private static final Map<ClassLoader, Map<Class<?>, FactoriesRegistry<?>>> registries = new ConcurrentReferenceHashMap<>();
+
+	private final List<F> factories;
+
+	private final Map<BiFunction<F, String, ?>, Map<String, Object>> instances = new ConcurrentReferenceHashMap<>(
+			16, ConcurrentReferenceHashMap.ReferenceType.WEAK);
+
+	private FactoriesRegistry(List<F> factories) {
+		this.factories = Collections.unmodifiableList(factories);
+	}
+
+	/**
+	 * Returns the registry of the factories of the given type that are visible to the
+	 * given {@code classLoader}, loading them if necessary.
+	 * @param factoryType the type of the factories
+	 * @param classLoader the class loader to use to load the factories
+	 * @param <F> the factory type
+	 * @return the registry
+	 */
+	@SuppressWarnings("unchecked")
+	public static <F> FactoriesRegistry<F> get(Class<F> factoryType,
+			ClassLoader classLoader) {
+		Assert.notNull(factoryType, "FactoryType must not be null");
+		Assert.notNull(classLoader, "ClassLoader must not be null");
+		return (FactoriesRegistry<F>) registries
+				.computeIfAbsent(classLoader, (key) -> new ConcurrentHashMap<>())
+				.computeIfAbsent(factoryType, (type) -> new FactoriesRegistry<>(
+						SpringFactoriesLoader.loadFactories(type, classLoader)));
+	}
+
+	/**
+	 * Discards the registries associated with the given {@code classLoader} so that
+	 * factories are reloaded on their next use. Typically used when plugins are reloaded.
+	 * @param classLoader the class loader
+	 */
+	public static void refresh(ClassLoader classLoader) {
+		registries.remove(classLoader);
+	}
+
+	/**
+	 * Discards all of the registries so that factories are reloaded on their next use.
+	 */
+	public static void refreshAll() {
+		registries.clear();
+	}
+
+	/**
+	 * Returns the factories in the registry, in the order in which they are declared.
+	 * @return the factories
+	 */
+	public List<F> getFactories() {
+		return this.factories;
+	}
+
+	/**
+	 * Returns the object with the given {@code id}. The object is created using the first
+	 * factory for which the given {@code creator} returns a non-null result and is then
+	 * cached for subsequent lookups of the same {@code id} with the same {@code creator}.
+	 * Creators are compared by identity so, to benefit from caching, a creator should be
+	 * a constant such as a non-capturing method reference.
+	 * @param id the id of the object
+	 * @param creator the function used to create the object using a factory
+	 * @param <T> the type of the object
+	 * @return the object or {@code null} if no factory recognizes the id
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T resolve(String id, BiFunction<F, String, T> creator) {
+		if (id == null) {
+			return create(null, creator);
+		}
+		Map<String, Object> instances = this.instances.computeIfAbsent(creator,
+				(key) -> new ConcurrentHashMap<>());
+		T instance = (T) instances.get(id);
+		if (instance == null) {
+			instance = create(id, creator);
+			if (instance != null) {
+				instances.putIfAbsent(id, instance);
+			}
+		}
+		return instance;
+	}
+
+	private <T> T create(String id, BiFunction<F, String, T> creator) {
+		for (F factory : this.factories) {
+			T instance = creator.apply(factory, id);
+			if (instance != null) {
+				return instance;
+			}
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.util;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.UnaryOperator;
+
+import org.springframework.util.Assert;
+
+/**
+ * A read-only view of a list that can only be appended to and that can be cheaply
+ * {@link #fork() forked}. A fork shares its elements with the list from which it was
+ * forked until either of them is appended to, at which point the one being modified
+ * copies the elements. Appending is not thread-safe but a list that is no longer being
+ * modified can be forked concurrently.
+ *
+ * @param <E> the type of the elements
+ * @author Andy Wilkinson
+ */
+public final class ForkableList<E> extends AbstractList<E> implements RandomAccess {
+
+	private List<E> elements;
+
+	private boolean shared;
+
+	public ForkableList() {
+		this(new ArrayList<>(), false);
+	}
+
+	private ForkableList(List<E> elements, boolean shared) {
+		this.elements = elements;
+		this.shared = shared;
+	}
+
+	/**
+	 * Appends the given {@code element}, first copying the elements if they are shared
+	 * with a fork.
+	 * @param element the element to append
+	 */
+	public void append(E element) {
+		if (this.shared) {
+			this.elements = new ArrayList<>(this.elements);
+			this.shared = false;
+		}
+		this.elements.add(element);
+	}
+
+	/**
+	 * Returns a fork of this list that shares its elements.
+	 * @return the fork
+	 */
+	public ForkableList<E> fork() {
+		this.shared = true;
+		return new ForkableList<>(this.elements, true);
+	}
+
+	/**
+	 * Returns a fork of this list whose elements are forks, created using the given
+	 * {@code forker}, of the elements of this list. Used when the elements are themselves
+	 * mutable.
+	 * @param forker the function used to fork each element
+	 * @return the fork
+	 * @throws IllegalStateException if the forker returns an element whose class differs
+	 * from that of the element it forked, for example because a subclass does not
+	 * override its {@code fork()} method
+	 */
+	public ForkableList<E> fork(UnaryOperator<E> forker) {
+		List<E> forked = new ArrayList<>(this.elements.size());
+		for (E element : this.elements) {
+			forked.add(forkElement(element, forker));
+		}
+		return new ForkableList<>(forked, false);
+	}
+
+	/**
+	 * Forks the given {@code element} using the given {@code forker}.
+	 * @param <E> the type of the element
+	 * @param element the element to fork
+	 * @param forker the function used to fork the element
+	 * @return the fork
+	 * @throws IllegalStateException if the forker returns an element whose class differs
+	 * from that of the element it forked, for example because a subclass does not
+	 * override its {@code fork()} method
+	 */
+	public static <E> E forkElement(E element, UnaryOperator<E> forker) {
+		E fork = forker.apply(element);
+		Assert.state(fork != null && fork.getClass() == element.getClass(),
+				() -> "Fork of " + element.getClass().getName() + " was "
+						+ ((fork != null) ? fork.getClass().getName() : "null"));
+		return fork;
+	}
+
+	@Override
+	public E get(int index) {
+		return this.elements.get(index);
+	}
+
+	@Override
+	public int size() {
+		return this.elements.size();
+	}
+
+}
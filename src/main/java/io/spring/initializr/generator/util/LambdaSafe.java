@@ -18,7 +18,9 @@ package io.spring.initializr.generator.util;
 
 import java.lang.reflect.Method;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -31,6 +33,7 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.core.ResolvableType;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ReflectionUtils;
 
 /**
@@ -47,6 +50,8 @@ public final class LambdaSafe {
 
 	private static final Method MODULE_GET_NAME;
 
+	private static final AtomicLong genericResolutionCount = new AtomicLong();
+
 	static {
 		CLASS_GET_MODULE = ReflectionUtils.findMethod(Class.class, "getModule");
 		MODULE_GET_NAME = (CLASS_GET_MODULE != null)
@@ -57,6 +62,16 @@ public final class LambdaSafe {
 	private LambdaSafe() {
 	}
 
+	/**
+	 * Return the number of times that the generic type of a callback implementation has
+	 * been resolved. Each callback type and implementation class pair is only resolved
+	 * once.
+	 * @return the number of generic type resolutions
+	 */
+	static long getGenericResolutionCount() {
+		return genericResolutionCount.get();
+	}
+
 	/**
 	 * Start a call to a single callback instance, dealing with common generic type
 	 * concerns and exceptions.
@@ -356,20 +371,52 @@ public final class LambdaSafe {
 
 	/**
 	 * {@link Filter} that matches when the callback has a single generic and primary
-	 * argument is an instance of it.
+	 * argument is an instance of it. The generic is resolved once per callback type and
+	 * callback implementation class.
 	 */
 	private static class GenericTypeFilter<C, A> implements Filter<C, A> {
 
+		private static final Map<Class<?>, Map<Class<?>, GenericTarget>> targets = new ConcurrentReferenceHashMap<>();
+
 		@Override
 		public boolean match(Class<C> callbackType, C callbackInstance, A argument,
 				Object[] additionalArguments) {
-			ResolvableType type = ResolvableType.forClass(callbackType,
-					callbackInstance.getClass());
+			return targets
+					.computeIfAbsent(callbackType,
+							(key) -> new ConcurrentReferenceHashMap<>())
+					.computeIfAbsent(callbackInstance.getClass(),
+							(instanceType) -> GenericTarget.resolve(callbackType,
+									instanceType))
+					.matches(argument);
+		}
+
+	}
+
+	/**
+	 * The resolved generic of a callback implementation, if any.
+	 */
+	private static final class GenericTarget {
+
+		private static final GenericTarget NONE = new GenericTarget(null);
+
+		private final Class<?> type;
+
+		private GenericTarget(Class<?> type) {
+			this.type = type;
+		}
+
+		private boolean matches(Object argument) {
+			return this.type == null || this.type.isInstance(argument);
+		}
+
+		private static GenericTarget resolve(Class<?> callbackType,
+				Class<?> instanceType) {
+			genericResolutionCount.incrementAndGet();
+			ResolvableType type = ResolvableType.forClass(callbackType, instanceType);
 			if (type.getGenerics().length == 1 && type.resolveGeneric() != null) {
-				return type.resolveGeneric().isInstance(argument);
+				return new GenericTarget(type.resolveGeneric());
 			}
-
-			return true;
+			return NONE;
 		}
 
 	}
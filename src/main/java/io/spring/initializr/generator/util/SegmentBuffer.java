@@ -0,0 +1,163 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A growable byte buffer that assembles a file from pre-encoded segments and dynamic
+ * text, and then writes it in a single call. Text is always encoded as UTF-8 so that the
+ * content of generated files does not depend on the platform's default charset. Buffers
+ * are {@link #acquire() acquired} from, and {@link #release() released} back to, a small
+ * pool so that their backing arrays are reused across files.
+ *
+ * @author Andy Wilkinson
+ */
+public final class SegmentBuffer {
+
+	private static final int INITIAL_CAPACITY = 4096;
+
+	private static final int MAXIMUM_POOLED_CAPACITY = 64 * 1024;
+
+	private static final int MAXIMUM_POOL_SIZE = 64;
+
+	private static final Queue<SegmentBuffer> pool = new ConcurrentLinkedQueue<>();
+
+	private static final AtomicInteger poolSize = new AtomicInteger();
+
+	private byte[] bytes = new byte[INITIAL_CAPACITY];
+
+	private int length;
+
+	private SegmentBuffer() {
+	}
+
+	/**
+	 * Acquires an empty buffer. Callers should {@link #release() release} the buffer in a
+	 * {@code finally} block so that it is returned to the pool even if assembling the
+	 * file fails.
+	 * @return the buffer
+	 */
+	public static SegmentBuffer acquire() {
+		SegmentBuffer buffer = pool.poll();
+		if (buffer == null) {
+			return new SegmentBuffer();
+		}
+		poolSize.decrementAndGet();
+		return buffer;
+	}
+
+	/**
+	 * Encodes the given {@code text} as UTF-8 so that it can be {@link #append(byte[])
+	 * appended} to a buffer without being encoded each time.
+	 * @param text the text
+	 * @return the encoded segment
+	 */
+	public static byte[] segment(String text) {
+		return text.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Appends the given pre-encoded {@code segment}.
+	 * @param segment the segment
+	 * @return this buffer
+	 */
+	public SegmentBuffer append(byte[] segment) {
+		ensureCapacity(segment.length);
+		System.arraycopy(segment, 0, this.bytes, this.length, segment.length);
+		this.length += segment.length;
+		return this;
+	}
+
+	/**
+	 * Appends the given {@code text}, encoding it without allocating when it only
+	 * contains ASCII characters. As with {@link String#valueOf(Object)}, {@code null} is
+	 * appended as {@code "null"}.
+	 * @param text the text
+	 * @return this buffer
+	 */
+	public SegmentBuffer append(String text) {
+		String value = String.valueOf(text);
+		int length = value.length();
+		ensureCapacity(length);
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c >= 0x80) {
+				return append(value.substring(i).getBytes(StandardCharsets.UTF_8));
+			}
+			this.bytes[this.length++] = (byte) c;
+		}
+		return this;
+	}
+
+	/**
+	 * Writes the content of this buffer to the given {@code output}. The stream is not
+	 * closed.
+	 * @param output the stream to write to
+	 * @throws IOException if writing fails
+	 */
+	public void writeTo(OutputStream output) throws IOException {
+		output.write(this.bytes, 0, this.length);
+	}
+
+	/**
+	 * Returns the number of bytes in this buffer.
+	 * @return the length
+	 */
+	public int length() {
+		return this.length;
+	}
+
+	/**
+	 * Returns a copy of the content of this buffer.
+	 * @return the content
+	 */
+	public byte[] toByteArray() {
+		return Arrays.copyOf(this.bytes, this.length);
+	}
+
+	/**
+	 * Releases this buffer back to the pool. The buffer must not be used once it has been
+	 * released.
+	 */
+	public void release() {
+		this.length = 0;
+		if (this.bytes.length > MAXIMUM_POOLED_CAPACITY) {
+			return;
+		}
+		if (poolSize.incrementAndGet() > MAXIMUM_POOL_SIZE) {
+			poolSize.decrementAndGet();
+			return;
+		}
+		pool.offer(this);
+	}
+
+	private void ensureCapacity(int additional) {
+		int required = this.length + additional;
+		if (required > this.bytes.length) {
+			this.bytes = Arrays.copyOf(this.bytes,
+					Math.max(required, this.bytes.length * 2));
+		}
+	}
+
+}
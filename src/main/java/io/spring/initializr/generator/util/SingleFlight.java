@@ -0,0 +1,133 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.util;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.Assert;
+
+/**
+ * Coalesces concurrent calls for the same key so that only one of them, the leader, does
+ * the work while the others wait for and share its result. Once the leader has finished,
+ * the next call for the key does the work again.
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ * @author Andy Wilkinson
+ */
+public class SingleFlight<K, V> {
+
+	private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+	private final AtomicLong coalescedCount = new AtomicLong();
+
+	private final long maximumWaitNanos;
+
+	/**
+	 * Creates a new instance where callers wait indefinitely for a call that is in
+	 * flight.
+	 */
+	public SingleFlight() {
+		this.maximumWaitNanos = Long.MAX_VALUE;
+	}
+
+	/**
+	 * Creates a new instance where callers wait for, at most, the given
+	 * {@code maximumWait} for a call that is in flight.
+	 * @param maximumWait the maximum time to wait for a call that is in flight
+	 */
+	public SingleFlight(Duration maximumWait) {
+		Assert.isTrue(maximumWait != null && !maximumWait.isNegative(),
+				"Maximum wait must not be null or negative");
+		this.maximumWaitNanos = maximumWait.toNanos();
+	}
+
+	/**
+	 * Calls the given {@code task} unless a call for the same {@code key} is already in
+	 * flight, in which case the result of that call is awaited instead. If the task
+	 * fails, its exception is thrown to the leader. Every caller that was waiting for it
+	 * receives its own {@link ExecutionException} with the leader's exception as its
+	 * cause so that the callers do not share, and add their suppressed exceptions to, a
+	 * single instance. The maximum wait does not apply to the leader, which always runs
+	 * the task to completion so that the callers that are still waiting receive its
+	 * result.
+	 * @param key the key identifying equivalent calls
+	 * @param task the task to call
+	 * @return the result of the task
+	 * @throws TimeoutException if the call in flight does not complete within the maximum
+	 * wait
+	 * @throws ExecutionException if the call in flight fails
+	 * @throws Exception if the task fails or the calling thread is interrupted while
+	 * waiting
+	 */
+	public V execute(K key, Callable<V> task) throws Exception {
+		CompletableFuture<V> leader = new CompletableFuture<>();
+		CompletableFuture<V> existing = this.inFlight.putIfAbsent(key, leader);
+		if (existing != null) {
+			this.coalescedCount.incrementAndGet();
+			return await(key, existing);
+		}
+		try {
+			V result = task.call();
+			leader.complete(result);
+			return result;
+		}
+		catch (Throwable ex) {
+			leader.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			this.inFlight.remove(key, leader);
+		}
+	}
+
+	private V await(K key, CompletableFuture<V> future) throws Exception {
+		try {
+			return future.get(this.maximumWaitNanos, TimeUnit.NANOSECONDS);
+		}
+		catch (ExecutionException ex) {
+			throw new ExecutionException("Call in flight for '" + key + "' failed",
+					ex.getCause());
+		}
+	}
+
+	/**
+	 * Returns the number of calls that shared the result of an in-flight call rather than
+	 * doing the work themselves.
+	 * @return the coalesced count
+	 */
+	public long getCoalescedCount() {
+		return this.coalescedCount.get();
+	}
+
+	/**
+	 * Returns the number of calls that are currently in flight.
+	 * @return the number of in-flight calls
+	 */
+	public int getInFlightCount() {
+		return this.inFlight.size();
+	}
+
+}
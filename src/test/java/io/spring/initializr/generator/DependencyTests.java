@@ -0,0 +1,49 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link Dependency}.
+ *
+ * @author Andy Wilkinson
+ */
+public class DependencyTests {
+
+	@Test
+	public void dependenciesWithSameCoordinatesAndTypeAreEqual() {
+		Dependency one = new Dependency("com.example", "a", DependencyType.COMPILE);
+		Dependency two = new Dependency("com.example", "a", DependencyType.COMPILE);
+		assertThat(one).isEqualTo(two);
+		assertThat(one.hashCode()).isEqualTo(two.hashCode());
+		assertThat(one)
+				.isNotEqualTo(new Dependency("com.example", "a", DependencyType.RUNTIME));
+	}
+
+	@Test
+	public void projectDescriptionKeepsTheGivenInstance() {
+		Dependency dependency = new Dependency("com.example", "c",
+				DependencyType.COMPILE);
+		ProjectDescription description = new ProjectDescription();
+		description.addDependency(dependency);
+		assertThat(description.getDependencies().get(0)).isSameAs(dependency);
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator;
+
+import io.spring.initializr.generator.buildsystem.BuildSystem;
+import io.spring.initializr.generator.buildsystem.gradle.ConditionalOnGradle;
+import io.spring.initializr.generator.buildsystem.gradle.GradleBuildSystem;
+import io.spring.initializr.generator.buildsystem.maven.ConditionalOnMaven;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuildSystem;
+import io.spring.initializr.generator.condition.ConditionOutcomeCache;
+import org.junit.Test;
+
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ProjectGenerationPlan}.
+ *
+ * @author Andy Wilkinson
+ */
+public class ProjectGenerationPlanTests {
+
+	private final ProjectGenerationPlan plan = new ProjectGenerationPlan(
+			UnconditionalConfiguration.class, MavenConfiguration.class,
+			GradleConfiguration.class, OtherConditionConfiguration.class);
+
+	@Test
+	public void configurationsWhoseConditionsDoNotMatchAreExcluded() {
+		assertThat(this.plan.getConfigurations(describe(new MavenBuildSystem()), null))
+				.containsExactly(UnconditionalConfiguration.class,
+						MavenConfiguration.class, OtherConditionConfiguration.class);
+		assertThat(this.plan.getConfigurations(describe(new GradleBuildSystem()), null))
+				.containsExactly(UnconditionalConfiguration.class,
+						GradleConfiguration.class, OtherConditionConfiguration.class);
+	}
+
+	@Test
+	public void outcomesAreCached() {
+		ConditionOutcomeCache cache = new ConditionOutcomeCache(16);
+		ProjectDescription description = describe(new MavenBuildSystem());
+		this.plan.getConfigurations(description, cache);
+		assertThat(cache.getMissCount()).isEqualTo(2);
+		this.plan.getConfigurations(description, cache);
+		assertThat(cache.getMissCount()).isEqualTo(2);
+		assertThat(cache.getHitCount()).isEqualTo(2);
+	}
+
+	private ProjectDescription describe(BuildSystem buildSystem) {
+		ProjectDescription description = new ProjectDescription();
+		description.setBuildSystem(buildSystem);
+		return description;
+	}
+
+	@Configuration
+	static class UnconditionalConfiguration {
+
+	}
+
+	@Configuration
+	@ConditionalOnMaven
+	static class MavenConfiguration {
+
+	}
+
+	@Configuration
+	@ConditionalOnGradle
+	static class GradleConfiguration {
+
+	}
+
+	@Configuration
+	@Conditional(NeverCondition.class)
+	static class OtherConditionConfiguration {
+
+	}
+
+	static class NeverCondition implements Condition {
+
+		@Override
+		public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			return false;
+		}
+
+	}
+
+}
@@ -18,6 +18,7 @@ package io.spring.initializr.generator;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -25,10 +26,17 @@ import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import io.spring.initializr.generator.buildsystem.gradle.GradleBuildSystem;
 import io.spring.initializr.generator.buildsystem.maven.MavenBuildSystem;
+import io.spring.initializr.generator.code.MainApplicationTypeCache;
+import io.spring.initializr.generator.condition.ConditionOutcomeCache;
+import io.spring.initializr.generator.language.SourceFragmentCache;
 import io.spring.initializr.generator.language.java.JavaLanguage;
+import io.spring.initializr.generator.output.InMemoryProjectOutput;
+import org.junit.After;
 import org.junit.Test;
 
 import org.springframework.util.FileSystemUtils;
@@ -42,12 +50,19 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 public class ProjectGeneratorTests {
 
+	private final ProjectGenerator generator = new ProjectGenerator();
+
+	@After
+	public void closeGenerator() {
+		this.generator.close();
+	}
+
 	@Test
 	public void gradleWrapperIsContributedWhenGeneratingGradleProject()
 			throws IOException {
 		ProjectDescription description = new ProjectDescription();
 		description.setBuildSystem(new GradleBuildSystem());
-		File project = new ProjectGenerator().generate(description);
+		File project = this.generator.generate(description);
 		List<String> relativePaths = getRelativePathsOfProjectFiles(project);
 		assertThat(relativePaths).contains("gradlew", "gradlew.bat",
 				"gradle/wrapper/gradle-wrapper.properties",
@@ -63,7 +78,7 @@ public class ProjectGeneratorTests {
 		description.setLanguage(new JavaLanguage());
 		description.setGroupId("com.example");
 		description.setArtifactId("demo");
-		File project = new ProjectGenerator().generate(description);
+		File project = this.generator.generate(description);
 		List<String> relativePaths = getRelativePathsOfProjectFiles(project);
 		assertThat(relativePaths).contains("build.gradle");
 		List<String> lines = Files
@@ -83,7 +98,7 @@ public class ProjectGeneratorTests {
 	public void mavenWrapperIsContributedWhenGeneratingMavenProject() throws IOException {
 		ProjectDescription description = new ProjectDescription();
 		description.setBuildSystem(new MavenBuildSystem());
-		File project = new ProjectGenerator().generate(description);
+		File project = this.generator.generate(description);
 		List<String> relativePaths = getRelativePathsOfProjectFiles(project);
 		assertThat(relativePaths).contains("mvnw", "mvnw.cmd",
 				".mvn/wrapper/MavenWrapperDownloader.java",
@@ -92,11 +107,31 @@ public class ProjectGeneratorTests {
 		FileSystemUtils.deleteRecursively(project);
 	}
 
+	@Test
+	public void pomDotXmlIsContributedWhenGeneratingMavenProject() throws IOException {
+		ProjectDescription description = new ProjectDescription();
+		description.setBuildSystem(new MavenBuildSystem());
+		description.setLanguage(new JavaLanguage());
+		description.setGroupId("com.example");
+		description.setArtifactId("demo");
+		description.addDependency(new Dependency("org.springframework.boot",
+				"spring-boot-starter-web", DependencyType.COMPILE));
+		File project = this.generator.generate(description);
+		List<String> pom = Files.readAllLines(new File(project, "pom.xml").toPath());
+		assertThat(pom).contains(
+				"\t\t<artifactId>spring-boot-starter-parent</artifactId>",
+				"\t<groupId>com.example</groupId>", "\t<artifactId>demo</artifactId>",
+				"\t\t\t<artifactId>spring-boot-starter-web</artifactId>",
+				"\t\t\t<artifactId>spring-boot-starter-test</artifactId>",
+				"\t\t\t\t<artifactId>spring-boot-maven-plugin</artifactId>");
+		FileSystemUtils.deleteRecursively(project);
+	}
+
 	@Test
 	public void gitIgnoreIsContributedWhenGeneratingGradleProject() throws IOException {
 		ProjectDescription description = new ProjectDescription();
 		description.setBuildSystem(new GradleBuildSystem());
-		File project = new ProjectGenerator().generate(description);
+		File project = this.generator.generate(description);
 		assertThat(Files.readAllLines(new File(project, ".gitignore").toPath()))
 				.contains(".gradle", "### STS ###");
 	}
@@ -105,7 +140,7 @@ public class ProjectGeneratorTests {
 	public void gitIgnoreIsContributedWhenGeneratingMavenProject() throws IOException {
 		ProjectDescription description = new ProjectDescription();
 		description.setBuildSystem(new MavenBuildSystem());
-		File project = new ProjectGenerator().generate(description);
+		File project = this.generator.generate(description);
 		assertThat(Files.readAllLines(new File(project, ".gitignore").toPath()))
 				.contains("/target/", "### STS ###");
 	}
@@ -116,7 +151,7 @@ public class ProjectGeneratorTests {
 		description.setBuildSystem(new MavenBuildSystem());
 		description.setLanguage(new JavaLanguage());
 		description.setGroupId("com.example");
-		File project = new ProjectGenerator().generate(description);
+		File project = this.generator.generate(description);
 		List<String> relativePaths = getRelativePathsOfProjectFiles(project);
 		assertThat(relativePaths)
 				.contains("src/main/java/com/example/DemoApplication.java");
@@ -133,7 +168,7 @@ public class ProjectGeneratorTests {
 		description.setGroupId("com.example");
 		description.addDependency(new Dependency("org.springframework.cloud",
 				"spring-cloud-config-server", DependencyType.COMPILE));
-		File project = new ProjectGenerator().generate(description);
+		File project = this.generator.generate(description);
 		List<String> relativePaths = getRelativePathsOfProjectFiles(project);
 		assertThat(relativePaths)
 				.contains("src/main/java/com/example/DemoApplication.java");
@@ -152,7 +187,7 @@ public class ProjectGeneratorTests {
 		description.setGroupId("com.example");
 		description.addDependency(new Dependency("org.springframework.restdocs",
 				"spring-restdocs-mockmvc", DependencyType.TEST_COMPILE));
-		File project = new ProjectGenerator().generate(description);
+		File project = this.generator.generate(description);
 		List<String> relativePaths = getRelativePathsOfProjectFiles(project);
 		assertThat(relativePaths).contains("build.gradle");
 		List<String> source = Files
@@ -160,6 +195,118 @@ public class ProjectGeneratorTests {
 		source.forEach(System.out::println);
 	}
 
+	@Test
+	public void generatorCanBeReusedForProjectsWithDifferentBuildSystems()
+			throws IOException {
+		ProjectDescription gradleDescription = new ProjectDescription();
+		gradleDescription.setBuildSystem(new GradleBuildSystem());
+		File gradleProject = this.generator.generate(gradleDescription);
+		ProjectDescription mavenDescription = new ProjectDescription();
+		mavenDescription.setBuildSystem(new MavenBuildSystem());
+		File mavenProject = this.generator.generate(mavenDescription);
+		assertThat(getRelativePathsOfProjectFiles(gradleProject)).contains("gradlew")
+				.doesNotContain("mvnw");
+		assertThat(getRelativePathsOfProjectFiles(mavenProject)).contains("mvnw")
+				.doesNotContain("gradlew");
+		FileSystemUtils.deleteRecursively(gradleProject);
+		FileSystemUtils.deleteRecursively(mavenProject);
+	}
+
+	@Test
+	public void conditionOutcomesAreReusedAcrossGenerations() throws IOException {
+		ProjectDescription description = new ProjectDescription();
+		description.setBuildSystem(new MavenBuildSystem());
+		description.setLanguage(new JavaLanguage());
+		description.setGroupId("com.example");
+		FileSystemUtils.deleteRecursively(this.generator.generate(description));
+		ConditionOutcomeCache cache = this.generator.getConditionOutcomeCache();
+		long misses = cache.getMissCount();
+		long hits = cache.getHitCount();
+		assertThat(misses).isGreaterThan(0);
+		FileSystemUtils.deleteRecursively(this.generator.generate(description));
+		assertThat(cache.getMissCount()).isEqualTo(misses);
+		assertThat(cache.getHitCount()).isGreaterThan(hits);
+	}
+
+	@Test
+	public void mainSourceFragmentIsReusedAcrossPackages() throws IOException {
+		InMemoryProjectOutput first = generateJavaProject("com.example");
+		SourceFragmentCache cache = this.generator.getSourceFragmentCache();
+		long misses = cache.getMissCount();
+		assertThat(misses).isGreaterThan(0);
+		InMemoryProjectOutput second = generateJavaProject("org.example");
+		assertThat(cache.getMissCount()).isEqualTo(misses);
+		assertThat(cache.getHitRate()).isGreaterThan(0.0);
+		String firstSource = getMainSource(first);
+		String secondSource = getMainSource(second);
+		assertThat(firstSource).startsWith("package com.example;");
+		assertThat(secondSource).startsWith("package org.example;");
+		assertThat(firstSource.substring(firstSource.indexOf(';')))
+				.isEqualTo(secondSource.substring(secondSource.indexOf(';')));
+	}
+
+	@Test
+	public void mainApplicationTypeBaseModelIsReusedAcrossGenerations()
+			throws IOException {
+		InMemoryProjectOutput first = generateJavaProject("com.example");
+		MainApplicationTypeCache cache = this.generator.getMainApplicationTypeCache();
+		assertThat(cache.getMissCount()).isEqualTo(1);
+		InMemoryProjectOutput second = generateJavaProject("org.example");
+		assertThat(cache.getMissCount()).isEqualTo(1);
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		assertThat(getMainSource(first)).contains("@SpringBootApplication",
+				"SpringApplication.run(DemoApplication.class, args);");
+		assertThat(getMainSource(second)).isEqualTo(getMainSource(first)
+				.replace("package com.example;", "package org.example;"));
+	}
+
+	@Test
+	public void concurrentContributionProducesSameProjectAsSequentialContribution()
+			throws IOException {
+		ProjectDescription description = new ProjectDescription();
+		description.setBuildSystem(new GradleBuildSystem());
+		description.setLanguage(new JavaLanguage());
+		description.setGroupId("com.example");
+		description.setArtifactId("demo");
+		File sequential = this.generator.generate(description);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			this.generator.setExecutor(executor);
+			File concurrent = this.generator.generate(description);
+			List<String> relativePaths = getRelativePathsOfProjectFiles(sequential);
+			assertThat(getRelativePathsOfProjectFiles(concurrent))
+					.containsExactlyInAnyOrderElementsOf(relativePaths);
+			for (String relativePath : relativePaths) {
+				assertThat(
+						Files.readAllBytes(new File(concurrent, relativePath).toPath()))
+								.isEqualTo(Files.readAllBytes(
+										new File(sequential, relativePath).toPath()));
+			}
+			FileSystemUtils.deleteRecursively(concurrent);
+		}
+		finally {
+			executor.shutdown();
+			FileSystemUtils.deleteRecursively(sequential);
+		}
+	}
+
+	@Test
+	public void projectCanBeGeneratedInMemory() throws IOException {
+		ProjectDescription description = new ProjectDescription();
+		description.setBuildSystem(new MavenBuildSystem());
+		description.setLanguage(new JavaLanguage());
+		description.setGroupId("com.example");
+		InMemoryProjectOutput output = new InMemoryProjectOutput();
+		this.generator.generate(description, output);
+		assertThat(output.getPaths()).contains("mvnw", ".gitignore",
+				".mvn/wrapper/maven-wrapper.jar",
+				"src/main/java/com/example/DemoApplication.java");
+		assertThat(new String(output.getContent(".gitignore"), StandardCharsets.UTF_8))
+				.contains("/target/", "### STS ###");
+		assertThat(output.isExecutable("mvnw")).isTrue();
+		assertThat(output.isExecutable("mvnw.cmd")).isFalse();
+	}
+
 	private List<String> getRelativePathsOfProjectFiles(File project) throws IOException {
 		List<String> relativePaths = new ArrayList<>();
 		Path projectPath = project.toPath();
@@ -176,4 +323,22 @@ public class ProjectGeneratorTests {
 		return relativePaths;
 	}
 
+	private InMemoryProjectOutput generateJavaProject(String groupId) throws IOException {
+		ProjectDescription description = new ProjectDescription();
+		description.setBuildSystem(new MavenBuildSystem());
+		description.setLanguage(new JavaLanguage());
+		description.setGroupId(groupId);
+		InMemoryProjectOutput output = new InMemoryProjectOutput();
+		this.generator.generate(description, output);
+		return output;
+	}
+
+	private String getMainSource(InMemoryProjectOutput output) {
+		String path = output.getPaths().stream()
+				.filter((candidate) -> candidate.startsWith("src/main/java/")
+						&& candidate.endsWith(".java"))
+				.findFirst().get();
+		return new String(output.getContent(path), StandardCharsets.UTF_8);
+	}
+
 }
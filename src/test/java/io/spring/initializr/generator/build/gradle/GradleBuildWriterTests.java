@@ -0,0 +1,98 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.build.gradle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import io.spring.initializr.generator.Dependency;
+import io.spring.initializr.generator.DependencyType;
+import io.spring.initializr.generator.buildsystem.gradle.GradleBuild;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link GradleBuildWriter}.
+ *
+ * @author Andy Wilkinson
+ */
+public class GradleBuildWriterTests {
+
+	private final GradleBuildWriter writer = new GradleBuildWriter();
+
+	@Test
+	public void settingsDotGradle() throws IOException {
+		GradleBuild build = new GradleBuild();
+		build.setName("demo");
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		this.writer.writeSettings(build, output);
+		assertThat(content(output)).isEqualTo(lines("rootProject.name = 'demo'"));
+	}
+
+	@Test
+	public void settingsDotGradleIsEncodedAsUtf8() throws IOException {
+		GradleBuild build = new GradleBuild();
+		build.setName("d\u00e9mo");
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		this.writer.writeSettings(build, output);
+		assertThat(output.toByteArray()).isEqualTo(
+				lines("rootProject.name = 'd\u00e9mo'").getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void buildDotGradle() throws IOException {
+		GradleBuild build = new GradleBuild();
+		build.setGroup("com.example");
+		build.addPlugin("java");
+		build.addPlugin("org.springframework.boot", "2.1.0.RELEASE");
+		build.applyPlugin("io.spring.dependency-management");
+		build.addDependency(
+				new Dependency("com.example", "test", DependencyType.TEST_COMPILE));
+		build.addDependency(new Dependency("com.example", "b", DependencyType.COMPILE));
+		build.addDependency(new Dependency("com.example", "a", DependencyType.COMPILE));
+		build.customizeTask("asciidoctor", (task) -> {
+			task.invoke("inputs.dir", "snippetsDir");
+			task.invoke("dependsOn", "test", "check");
+		});
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		this.writer.writeBuild(build, output);
+		assertThat(content(output)).isEqualTo(lines("plugins {", "    id 'java'",
+				"    id 'org.springframework.boot' version '2.1.0.RELEASE'", "}", "",
+				"apply plugin: 'io.spring.dependency-management'", "",
+				"group = 'com.example'", "version = '0.0.1-SNAPSHOT'",
+				"sourceCompatibility = '1.8'", "", "repositories {", "    mavenCentral()",
+				"}", "", "dependencies {", "    implementation 'com.example:a'",
+				"    implementation 'com.example:b'",
+				"    testImplementation 'com.example:test'", "}", "", "asciidoctor {",
+				"    inputs.dir snippetsDir", "    dependsOn test, check", "}", "", ""));
+	}
+
+	private String content(ByteArrayOutputStream output) {
+		return new String(output.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	private String lines(String... lines) {
+		StringBuilder content = new StringBuilder();
+		for (String line : lines) {
+			content.append(line).append("\n");
+		}
+		return content.toString();
+	}
+
+}
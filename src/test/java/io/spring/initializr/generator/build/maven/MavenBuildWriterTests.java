@@ -0,0 +1,97 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.build.maven;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import io.spring.initializr.generator.DependencyType;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuild;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MavenBuildWriter}.
+ *
+ * @author Andy Wilkinson
+ */
+public class MavenBuildWriterTests {
+
+	private final MavenBuildWriter writer = new MavenBuildWriter();
+
+	@Test
+	public void pomDotXml() throws IOException {
+		MavenBuild build = new MavenBuild();
+		build.setGroup("com.example");
+		build.setName("demo");
+		build.parent("org.springframework.boot", "spring-boot-starter-parent",
+				"2.1.0.RELEASE");
+		build.setProperty("kotlin.version", "1.2.70");
+		build.addDependency("com.example", "test", DependencyType.TEST_COMPILE);
+		build.addDependency("com.example", "processor",
+				DependencyType.ANNOTATION_PROCESSOR);
+		build.addDependency("com.example", "runtime", DependencyType.RUNTIME);
+		build.addDependency("com.example", "compile", DependencyType.COMPILE);
+		build.addPlugin("org.springframework.boot", "spring-boot-maven-plugin");
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		this.writer.writePom(build, output);
+		String pom = new String(output.toByteArray(), StandardCharsets.UTF_8);
+		assertThat(pom.split("\n")).containsExactly(
+				"<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+				"<project xmlns=\"http://maven.apache.org/POM/4.0.0\" "
+						+ "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" "
+						+ "xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0 "
+						+ "http://maven.apache.org/xsd/maven-4.0.0.xsd\">",
+				"\t<modelVersion>4.0.0</modelVersion>", "\t<parent>",
+				"\t\t<groupId>org.springframework.boot</groupId>",
+				"\t\t<artifactId>spring-boot-starter-parent</artifactId>",
+				"\t\t<version>2.1.0.RELEASE</version>", "\t\t<relativePath/>",
+				"\t</parent>", "\t<groupId>com.example</groupId>",
+				"\t<artifactId>demo</artifactId>", "\t<version>0.0.1-SNAPSHOT</version>",
+				"\t<properties>", "\t\t<java.version>1.8</java.version>",
+				"\t\t<kotlin.version>1.2.70</kotlin.version>", "\t</properties>",
+				"\t<dependencies>", "\t\t<dependency>",
+				"\t\t\t<groupId>com.example</groupId>",
+				"\t\t\t<artifactId>processor</artifactId>",
+				"\t\t\t<optional>true</optional>", "\t\t</dependency>",
+				"\t\t<dependency>", "\t\t\t<groupId>com.example</groupId>",
+				"\t\t\t<artifactId>compile</artifactId>", "\t\t</dependency>",
+				"\t\t<dependency>", "\t\t\t<groupId>com.example</groupId>",
+				"\t\t\t<artifactId>runtime</artifactId>", "\t\t\t<scope>runtime</scope>",
+				"\t\t</dependency>", "\t\t<dependency>",
+				"\t\t\t<groupId>com.example</groupId>",
+				"\t\t\t<artifactId>test</artifactId>", "\t\t\t<scope>test</scope>",
+				"\t\t</dependency>", "\t</dependencies>", "\t<build>", "\t\t<plugins>",
+				"\t\t\t<plugin>", "\t\t\t\t<groupId>org.springframework.boot</groupId>",
+				"\t\t\t\t<artifactId>spring-boot-maven-plugin</artifactId>",
+				"\t\t\t</plugin>", "\t\t</plugins>", "\t</build>", "</project>");
+	}
+
+	@Test
+	public void specialCharactersAreEscaped() throws IOException {
+		MavenBuild build = new MavenBuild();
+		build.setGroup("com.example");
+		build.setName("a&b<c>");
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		this.writer.writePom(build, output);
+		assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8))
+				.contains("<artifactId>a&amp;b&lt;c&gt;</artifactId>");
+	}
+
+}
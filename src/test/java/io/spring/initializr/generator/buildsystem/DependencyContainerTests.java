@@ -0,0 +1,103 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.buildsystem;
+
+import io.spring.initializr.generator.Dependency;
+import io.spring.initializr.generator.DependencyType;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link DependencyContainer}.
+ *
+ * @author Andy Wilkinson
+ */
+public class DependencyContainerTests {
+
+	private final DependencyContainer container = new DependencyContainer();
+
+	@Test
+	public void dependenciesAreReturnedInInsertionOrder() {
+		Dependency b = this.container
+				.add(new Dependency("com.example", "b", DependencyType.COMPILE));
+		Dependency a = this.container
+				.add(new Dependency("com.example", "a", DependencyType.COMPILE));
+		assertThat(this.container.getAll()).containsExactly(b, a);
+	}
+
+	@Test
+	public void addingEquivalentDependencyReturnsExistingDependency() {
+		Dependency first = this.container
+				.add(new Dependency("com.example", "a", DependencyType.COMPILE));
+		Dependency second = this.container
+				.add(new Dependency("com.example", "a", DependencyType.COMPILE));
+		assertThat(second).isSameAs(first);
+		assertThat(this.container.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void addingCoordinatesOfExistingDependencyReturnsExistingDependency() {
+		Dependency existing = this.container
+				.add(new Dependency("com.example", "a", DependencyType.COMPILE));
+		assertThat(this.container.add("com.example", "a", DependencyType.COMPILE))
+				.isSameAs(existing);
+		assertThat(this.container.add("com.example", "a", DependencyType.RUNTIME))
+				.isNotSameAs(existing);
+		assertThat(this.container.size()).isEqualTo(2);
+	}
+
+	@Test
+	public void dependenciesWithSameCoordinatesAndDifferentTypesAreDistinct() {
+		this.container.add(new Dependency("com.example", "a", DependencyType.COMPILE));
+		this.container.add(new Dependency("com.example", "a", DependencyType.RUNTIME));
+		assertThat(this.container.size()).isEqualTo(2);
+		assertThat(this.container.has("com.example", "a", DependencyType.RUNTIME))
+				.isTrue();
+		assertThat(this.container.has("com.example", "a", DependencyType.TEST_COMPILE))
+				.isFalse();
+	}
+
+	@Test
+	public void dependenciesCanBeQueriedByGroupAndType() {
+		Dependency a = this.container
+				.add(new Dependency("com.example", "a", DependencyType.COMPILE));
+		Dependency b = this.container
+				.add(new Dependency("org.example", "b", DependencyType.COMPILE));
+		Dependency c = this.container
+				.add(new Dependency("com.example", "c", DependencyType.TEST_COMPILE));
+		assertThat(this.container.getByGroup("com.example")).containsExactly(a, c);
+		assertThat(this.container.getByGroup("net.example")).isEmpty();
+		assertThat(this.container.getByType(DependencyType.COMPILE)).containsExactly(a,
+				b);
+		assertThat(this.container.getByType(DependencyType.RUNTIME)).isEmpty();
+	}
+
+	@Test
+	public void sortedDependenciesAreOrderedByTypeThenGroupThenArtifact() {
+		Dependency test = this.container
+				.add(new Dependency("com.example", "a", DependencyType.TEST_COMPILE));
+		Dependency orgB = this.container
+				.add(new Dependency("org.example", "b", DependencyType.COMPILE));
+		Dependency comB = this.container
+				.add(new Dependency("com.example", "b", DependencyType.COMPILE));
+		Dependency comA = this.container
+				.add(new Dependency("com.example", "a", DependencyType.COMPILE));
+		assertThat(this.container.getSorted()).containsExactly(comA, comB, orgB, test);
+	}
+
+}
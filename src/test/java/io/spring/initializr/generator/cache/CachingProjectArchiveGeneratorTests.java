@@ -0,0 +1,106 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.cache;
+
+import java.io.IOException;
+
+import io.spring.initializr.generator.ProjectDescription;
+import io.spring.initializr.generator.ProjectGenerator;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuildSystem;
+import io.spring.initializr.generator.language.java.JavaLanguage;
+import io.spring.initializr.generator.output.ArchiveFormat;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link CachingProjectArchiveGenerator}.
+ *
+ * @author Andy Wilkinson
+ */
+public class CachingProjectArchiveGeneratorTests {
+
+	private final ProjectGenerator projectGenerator = new ProjectGenerator();
+
+	@After
+	public void closeProjectGenerator() {
+		this.projectGenerator.close();
+	}
+
+	@Test
+	public void repeatedRequestIsServedFromLocalCache() throws IOException {
+		CachingProjectArchiveGenerator generator = new CachingProjectArchiveGenerator(
+				this.projectGenerator, ArchiveFormat.ZIP,
+				new ProjectArchiveCache(1024 * 1024));
+		byte[] archive = generator.generate(createDescription());
+		assertThat(generator.generate(createDescription())).isSameAs(archive);
+		assertThat(generator.getGenerationCount()).isEqualTo(1);
+		assertThat(generator.getLocalHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void archiveGeneratedByOneNodeIsServedToAnotherFromSharedStore()
+			throws IOException {
+		InMemoryProjectArchiveStore store = new InMemoryProjectArchiveStore();
+		CachingProjectArchiveGenerator first = new CachingProjectArchiveGenerator(
+				this.projectGenerator, ArchiveFormat.ZIP,
+				new ProjectArchiveCache(1024 * 1024), store);
+		CachingProjectArchiveGenerator second = new CachingProjectArchiveGenerator(
+				this.projectGenerator, ArchiveFormat.ZIP,
+				new ProjectArchiveCache(1024 * 1024), store);
+		byte[] archive = first.generate(createDescription());
+		assertThat(store.size()).isEqualTo(1);
+		assertThat(second.generate(createDescription())).isEqualTo(archive);
+		assertThat(second.getGenerationCount()).isEqualTo(0);
+		assertThat(second.getSharedHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void storeFailuresAreCountedAndDoNotPreventGeneration() throws IOException {
+		ProjectArchiveStore failingStore = new ProjectArchiveStore() {
+
+			@Override
+			public byte[] load(String key) throws IOException {
+				throw new IOException("Load failed");
+			}
+
+			@Override
+			public void store(String key, byte[] archive) throws IOException {
+				throw new IOException("Store failed");
+			}
+
+		};
+		CachingProjectArchiveGenerator generator = new CachingProjectArchiveGenerator(
+				this.projectGenerator, ArchiveFormat.ZIP,
+				new ProjectArchiveCache(1024 * 1024), failingStore);
+		assertThat(generator.generate(createDescription())).isNotEmpty();
+		ProjectArchiveCacheStatistics statistics = generator.getStatistics();
+		assertThat(statistics.getStoreReadFailureCount()).isEqualTo(1);
+		assertThat(statistics.getStoreWriteFailureCount()).isEqualTo(1);
+	}
+
+	private ProjectDescription createDescription() {
+		ProjectDescription description = new ProjectDescription();
+		description.setBuildSystem(new MavenBuildSystem());
+		description.setLanguage(new JavaLanguage());
+		description.setGroupId("com.example");
+		description.setArtifactId("demo");
+		return description;
+	}
+
+}
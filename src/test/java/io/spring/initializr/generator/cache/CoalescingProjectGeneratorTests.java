@@ -0,0 +1,197 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.spring.initializr.generator.ProjectDescription;
+import io.spring.initializr.generator.ProjectGenerator;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuildSystem;
+import io.spring.initializr.generator.language.java.JavaLanguage;
+import io.spring.initializr.generator.output.ProjectOutput;
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.util.FileSystemUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link CoalescingProjectGenerator}.
+ *
+ * @author Andy Wilkinson
+ */
+public class CoalescingProjectGeneratorTests {
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	private final BlockingProjectGenerator projectGenerator = new BlockingProjectGenerator();
+
+	@After
+	public void shutdown() {
+		this.projectGenerator.release.countDown();
+		this.executor.shutdownNow();
+	}
+
+	@Test
+	public void burstOfEquivalentRequestsGeneratesProjectOnce() throws Exception {
+		CoalescingProjectGenerator generator = new CoalescingProjectGenerator(
+				this.projectGenerator, Duration.ofSeconds(30));
+		List<Future<File>> results = submitBurst(generator, 10);
+		awaitCoalescedCount(generator, 9);
+		this.projectGenerator.release.countDown();
+		Set<File> projects = new HashSet<>();
+		for (Future<File> result : results) {
+			File project = result.get(30, TimeUnit.SECONDS);
+			assertThat(new File(project, "mvnw")).isFile();
+			projects.add(project);
+		}
+		assertThat(this.projectGenerator.generations).hasValue(1);
+		assertThat(projects).hasSize(10);
+		projects.forEach(FileSystemUtils::deleteRecursively);
+	}
+
+	@Test
+	public void deletingOneCoalescedProjectDoesNotAffectTheOthers() throws Exception {
+		CoalescingProjectGenerator generator = new CoalescingProjectGenerator(
+				this.projectGenerator, Duration.ofSeconds(30));
+		List<Future<File>> results = submitBurst(generator, 2);
+		awaitCoalescedCount(generator, 1);
+		this.projectGenerator.release.countDown();
+		File first = results.get(0).get(30, TimeUnit.SECONDS);
+		File second = results.get(1).get(30, TimeUnit.SECONDS);
+		FileSystemUtils.deleteRecursively(first);
+		assertThat(new File(second, "mvnw")).isFile();
+		FileSystemUtils.deleteRecursively(second);
+	}
+
+	@Test
+	public void failureIsPropagatedToEveryRequestInBurst() throws Exception {
+		this.projectGenerator.failure = new IOException("Failure");
+		CoalescingProjectGenerator generator = new CoalescingProjectGenerator(
+				this.projectGenerator, Duration.ofSeconds(30));
+		List<Future<File>> results = submitBurst(generator, 4);
+		awaitCoalescedCount(generator, 3);
+		this.projectGenerator.release.countDown();
+		for (Future<File> result : results) {
+			assertThatThrownBy(() -> result.get(30, TimeUnit.SECONDS))
+					.hasCauseInstanceOf(IOException.class)
+					.hasMessageContaining("Failure");
+		}
+		assertThat(this.projectGenerator.generations).hasValue(1);
+	}
+
+	@Test
+	public void followerTimesOutWhileWaitingForLeader() throws Exception {
+		CoalescingProjectGenerator generator = new CoalescingProjectGenerator(
+				this.projectGenerator, Duration.ofMillis(50));
+		Future<File> leader = this.executor
+				.submit(() -> generator.generate(createDescription()));
+		awaitGenerations(1);
+		assertThatThrownBy(() -> generator.generate(createDescription()))
+				.isInstanceOf(InterruptedIOException.class)
+				.hasMessageContaining("Timed out");
+		this.projectGenerator.release.countDown();
+		File project = leader.get(30, TimeUnit.SECONDS);
+		assertThat(project).isDirectory();
+		FileSystemUtils.deleteRecursively(project);
+	}
+
+	private List<Future<File>> submitBurst(CoalescingProjectGenerator generator,
+			int size) {
+		List<Future<File>> results = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			results.add(
+					this.executor.submit(() -> generator.generate(createDescription())));
+		}
+		return results;
+	}
+
+	private void awaitCoalescedCount(CoalescingProjectGenerator generator, long expected)
+			throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 30000;
+		while (generator.getCoalescedCount() < expected
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(generator.getCoalescedCount()).isEqualTo(expected);
+	}
+
+	private void awaitGenerations(int expected) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 30000;
+		while (this.projectGenerator.generations.get() < expected
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(this.projectGenerator.generations).hasValue(expected);
+	}
+
+	private ProjectDescription createDescription() {
+		ProjectDescription description = new ProjectDescription();
+		description.setBuildSystem(new MavenBuildSystem());
+		description.setLanguage(new JavaLanguage());
+		description.setGroupId("com.example");
+		description.setArtifactId("demo");
+		return description;
+	}
+
+	/**
+	 * {@link ProjectGenerator} that counts its generations and blocks them until
+	 * released.
+	 */
+	private static final class BlockingProjectGenerator extends ProjectGenerator {
+
+		private final CountDownLatch release = new CountDownLatch(1);
+
+		private final AtomicInteger generations = new AtomicInteger();
+
+		private volatile IOException failure;
+
+		@Override
+		public void generate(ProjectDescription description, ProjectOutput output)
+				throws IOException {
+			this.generations.incrementAndGet();
+			try {
+				this.release.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException();
+			}
+			if (this.failure != null) {
+				throw this.failure;
+			}
+			super.generate(description, output);
+		}
+
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.cache;
+
+import java.io.File;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ProjectArchiveCache}.
+ *
+ * @author Andy Wilkinson
+ */
+public class ProjectArchiveCacheTests {
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	@Test
+	public void cachedArchiveIsReturned() {
+		ProjectArchiveCache cache = new ProjectArchiveCache(1024);
+		byte[] archive = new byte[16];
+		cache.put("a", archive);
+		assertThat(cache.get("a")).isSameAs(archive);
+		assertThat(cache.get("b")).isNull();
+		ProjectArchiveCacheStatistics statistics = cache.getStatistics();
+		assertThat(statistics.getHitCount()).isEqualTo(1);
+		assertThat(statistics.getMissCount()).isEqualTo(1);
+		assertThat(statistics.getBytesServed()).isEqualTo(16);
+		assertThat(statistics.getHitRatio()).isEqualTo(0.5);
+	}
+
+	@Test
+	public void leastRecentlyUsedArchiveIsEvictedWhenFull() {
+		ProjectArchiveCache cache = new ProjectArchiveCache(32);
+		cache.put("a", new byte[16]);
+		cache.put("b", new byte[16]);
+		cache.get("a");
+		cache.put("c", new byte[16]);
+		assertThat(cache.get("b")).isNull();
+		assertThat(cache.get("a")).isNotNull();
+		assertThat(cache.get("c")).isNotNull();
+		ProjectArchiveCacheStatistics statistics = cache.getStatistics();
+		assertThat(statistics.getEvictionCount()).isEqualTo(1);
+		assertThat(statistics.getSize()).isEqualTo(2);
+		assertThat(statistics.getWeight()).isEqualTo(32);
+	}
+
+	@Test
+	public void evictedArchiveIsServedFromSpillDirectory() throws Exception {
+		ProjectArchiveCache cache = new ProjectArchiveCache(16,
+				this.temp.getRoot().toPath(), 1024);
+		cache.put("a", new byte[] { 1, 2, 3 });
+		cache.put("b", new byte[16]);
+		assertThat(new File(this.temp.getRoot(), "a")).isFile();
+		assertThat(cache.get("a")).containsExactly(1, 2, 3);
+		assertThat(cache.getStatistics().getMissCount()).isEqualTo(0);
+		assertThat(new File(this.temp.getRoot(), "a")).doesNotExist();
+	}
+
+	@Test
+	public void spillDirectoryIsBounded() throws Exception {
+		ProjectArchiveCache cache = new ProjectArchiveCache(16,
+				this.temp.getRoot().toPath(), 32);
+		cache.put("a", new byte[16]);
+		cache.put("b", new byte[16]);
+		cache.put("c", new byte[16]);
+		cache.put("d", new byte[16]);
+		assertThat(this.temp.getRoot().list()).containsExactlyInAnyOrder("b", "c");
+		assertThat(cache.get("a")).isNull();
+	}
+
+	@Test
+	public void existingFilesInSpillDirectoryAreDeleted() throws Exception {
+		File stale = this.temp.newFile("stale");
+		new ProjectArchiveCache(16, this.temp.getRoot().toPath(), 32);
+		assertThat(stale).doesNotExist();
+	}
+
+	@Test
+	public void archiveThatCannotBeSpilledIsDropped() throws Exception {
+		File notADirectory = this.temp.newFile("not-a-directory");
+		ProjectArchiveCache cache = new ProjectArchiveCache(16, notADirectory.toPath(),
+				1024);
+		cache.put("a", new byte[16]);
+		cache.put("b", new byte[16]);
+		cache.put("c", new byte[32]);
+		assertThat(cache.get("a")).isNull();
+		assertThat(cache.get("b")).isNotNull();
+		assertThat(cache.get("c")).isNull();
+		assertThat(cache.getStatistics().getSpillFailureCount()).isEqualTo(2);
+	}
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.cache;
+
+import io.spring.initializr.generator.Dependency;
+import io.spring.initializr.generator.DependencyType;
+import io.spring.initializr.generator.ProjectDescription;
+import io.spring.initializr.generator.buildsystem.gradle.GradleBuildSystem;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuildSystem;
+import io.spring.initializr.generator.language.java.JavaLanguage;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ProjectDescriptionFingerprint}.
+ *
+ * @author Andy Wilkinson
+ */
+public class ProjectDescriptionFingerprintTests {
+
+	@Test
+	public void dependencyOrderAndDuplicatesDoNotAffectFingerprint() {
+		ProjectDescription first = createDescription();
+		first.addDependency(new Dependency("com.example", "a", DependencyType.COMPILE));
+		first.addDependency(new Dependency("com.example", "b", DependencyType.COMPILE));
+		ProjectDescription second = createDescription();
+		second.addDependency(new Dependency("com.example", "b", DependencyType.COMPILE));
+		second.addDependency(new Dependency("com.example", "a", DependencyType.COMPILE));
+		second.addDependency(new Dependency("com.example", "a", DependencyType.COMPILE));
+		assertThat(ProjectDescriptionFingerprint.of(first))
+				.isEqualTo(ProjectDescriptionFingerprint.of(second));
+	}
+
+	@Test
+	public void whitespaceAroundCoordinatesAffectsFingerprint() {
+		ProjectDescription first = createDescription();
+		ProjectDescription second = createDescription();
+		second.setGroupId(" com.example ");
+		assertThat(ProjectDescriptionFingerprint.of(first))
+				.isNotEqualTo(ProjectDescriptionFingerprint.of(second));
+	}
+
+	@Test
+	public void differentBuildSystemsHaveDifferentFingerprints() {
+		ProjectDescription first = createDescription();
+		ProjectDescription second = createDescription();
+		second.setBuildSystem(new GradleBuildSystem());
+		assertThat(ProjectDescriptionFingerprint.of(first))
+				.isNotEqualTo(ProjectDescriptionFingerprint.of(second));
+	}
+
+	@Test
+	public void differentDependencyTypesHaveDifferentFingerprints() {
+		ProjectDescription first = createDescription();
+		first.addDependency(new Dependency("com.example", "a", DependencyType.COMPILE));
+		ProjectDescription second = createDescription();
+		second.addDependency(
+				new Dependency("com.example", "a", DependencyType.TEST_COMPILE));
+		assertThat(ProjectDescriptionFingerprint.of(first))
+				.isNotEqualTo(ProjectDescriptionFingerprint.of(second));
+	}
+
+	private ProjectDescription createDescription() {
+		ProjectDescription description = new ProjectDescription();
+		description.setBuildSystem(new MavenBuildSystem());
+		description.setLanguage(new JavaLanguage());
+		description.setGroupId("com.example");
+		description.setArtifactId("demo");
+		return description;
+	}
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.catalog;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import io.spring.initializr.generator.Dependency;
+import io.spring.initializr.generator.DependencyType;
+import io.spring.initializr.generator.ProjectDescription;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuildSystem;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.core.io.FileSystemResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link DependencyCatalog} and {@link ReloadableDependencyCatalog}.
+ *
+ * @author Andy Wilkinson
+ */
+public class DependencyCatalogTests {
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	@Test
+	public void idsAreResolvedInBatch() throws IOException {
+		DependencyCatalog catalog = DependencyCatalog.load(writeCatalog(
+				"web.coordinates=org.springframework.boot:spring-boot-starter-web",
+				"restdocs.coordinates=org.springframework.restdocs:spring-restdocs-mockmvc",
+				"restdocs.type=test-compile"));
+		ProjectDescription description = new ProjectDescription();
+		description.setBuildSystem(new MavenBuildSystem());
+		catalog.resolve(Arrays.asList("web", "restdocs"), description);
+		assertThat(description.getDependencies()).containsExactly(
+				new Dependency("org.springframework.boot", "spring-boot-starter-web",
+						DependencyType.COMPILE),
+				new Dependency("org.springframework.restdocs", "spring-restdocs-mockmvc",
+						DependencyType.TEST_COMPILE));
+	}
+
+	@Test
+	public void unknownIdsAreReportedAndNothingIsAdded() throws IOException {
+		DependencyCatalog catalog = DependencyCatalog
+				.load(writeCatalog("web.coordinates=org.springframework.boot:web"));
+		ProjectDescription description = new ProjectDescription();
+		description.setBuildSystem(new MavenBuildSystem());
+		assertThatThrownBy(
+				() -> catalog.resolve(Arrays.asList("web", "a", "b"), description))
+						.isInstanceOf(IllegalArgumentException.class)
+						.hasMessageContaining("[a, b]");
+		assertThat(description.getDependencies()).isEmpty();
+	}
+
+	@Test
+	public void dependencyRestrictedToOtherBuildSystemIsRejected() throws IOException {
+		DependencyCatalog catalog = DependencyCatalog.load(writeCatalog(
+				"plugin.coordinates=com.example:plugin", "plugin.build-systems=gradle"));
+		ProjectDescription description = new ProjectDescription();
+		description.setBuildSystem(new MavenBuildSystem());
+		assertThatThrownBy(
+				() -> catalog.resolve(Collections.singletonList("plugin"), description))
+						.isInstanceOf(IllegalArgumentException.class)
+						.hasMessageContaining("maven");
+	}
+
+	@Test
+	public void resolvingWithoutABuildSystemIsRejected() throws IOException {
+		DependencyCatalog catalog = DependencyCatalog.load(writeCatalog(
+				"plugin.coordinates=com.example:plugin", "plugin.build-systems=gradle"));
+		ProjectDescription description = new ProjectDescription();
+		assertThatThrownBy(
+				() -> catalog.resolve(Collections.singletonList("plugin"), description))
+						.isInstanceOf(IllegalArgumentException.class)
+						.hasMessageContaining("Build system must be set");
+		assertThat(description.getDependencies()).isEmpty();
+	}
+
+	@Test
+	public void duplicateIdsAreAddedOnce() throws IOException {
+		DependencyCatalog catalog = DependencyCatalog
+				.load(writeCatalog("web.coordinates=org.springframework.boot:web"));
+		ProjectDescription description = new ProjectDescription();
+		description.setBuildSystem(new MavenBuildSystem());
+		catalog.resolve(Arrays.asList("web", "web"), description);
+		assertThat(description.getDependencies()).containsExactly(new Dependency(
+				"org.springframework.boot", "web", DependencyType.COMPILE));
+	}
+
+	@Test
+	public void invalidCoordinatesAreRejected() throws IOException {
+		assertThatThrownBy(
+				() -> DependencyCatalog.load(writeCatalog("web.coordinates=web")))
+						.isInstanceOf(IllegalStateException.class)
+						.hasMessageContaining("'web'");
+	}
+
+	@Test
+	public void reloadSwapsInNewCatalog() throws IOException {
+		FileSystemResource resource = writeCatalog("a.coordinates=com.example:a");
+		ReloadableDependencyCatalog reloadable = new ReloadableDependencyCatalog(
+				resource);
+		DependencyCatalog original = reloadable.getCatalog();
+		writeCatalog("a.coordinates=com.example:a", "b.coordinates=com.example:b");
+		reloadable.reload();
+		assertThat(original.size()).isEqualTo(1);
+		assertThat(reloadable.getCatalog().size()).isEqualTo(2);
+	}
+
+	@Test
+	public void failedReloadLeavesCurrentCatalogInUse() throws IOException {
+		FileSystemResource resource = writeCatalog("a.coordinates=com.example:a");
+		ReloadableDependencyCatalog reloadable = new ReloadableDependencyCatalog(
+				resource);
+		DependencyCatalog original = reloadable.getCatalog();
+		writeCatalog("a.coordinates=invalid");
+		assertThatThrownBy(reloadable::reload).isInstanceOf(IllegalStateException.class);
+		assertThat(reloadable.getCatalog()).isSameAs(original);
+	}
+
+	private FileSystemResource writeCatalog(String... lines) throws IOException {
+		File catalog = new File(this.temp.getRoot(), "catalog.properties");
+		Files.write(catalog.toPath(), Arrays.asList(lines), StandardCharsets.ISO_8859_1);
+		return new FileSystemResource(catalog);
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.code;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import io.spring.initializr.generator.ProjectDescription;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuildSystem;
+import io.spring.initializr.generator.language.Annotation;
+import io.spring.initializr.generator.language.TypeDeclaration;
+import io.spring.initializr.generator.language.java.JavaCompilationUnit;
+import io.spring.initializr.generator.language.java.JavaLanguage;
+import io.spring.initializr.generator.language.java.JavaSourceCode;
+import io.spring.initializr.generator.language.java.JavaSourceCodeWriter;
+import io.spring.initializr.generator.language.java.JavaTypeDeclaration;
+import io.spring.initializr.generator.output.InMemoryProjectOutput;
+import org.junit.Test;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MainSourceCodeFileContributor}.
+ *
+ * @author Andy Wilkinson
+ */
+public class MainSourceCodeFileContributorTests {
+
+	private final MainApplicationTypeCache cache = new MainApplicationTypeCache();
+
+	@Test
+	public void baseModelIsCachedSeparatelyForEachSetOfBaseCustomizers()
+			throws IOException {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerSingleton("first", annotator("com.example.First"));
+		assertThat(generate(beanFactory)).contains("@First").doesNotContain("@Second");
+		beanFactory.registerSingleton("second", annotator("com.example.Second"));
+		assertThat(generate(beanFactory)).contains("@First", "@Second");
+		assertThat(this.cache.getMissCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void baseCustomizersAreInvokedBeforeCustomizers() throws IOException {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerSingleton("base", annotator("com.example.Base"));
+		beanFactory.registerSingleton("customizer",
+				(MainApplicationTypeCustomizer<TypeDeclaration>) (type) -> type
+						.annotate(new Annotation("com.example.Customized")));
+		String source = generate(beanFactory);
+		assertThat(source.indexOf("@Base")).isLessThan(source.indexOf("@Customized"));
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private String generate(DefaultListableBeanFactory beanFactory) throws IOException {
+		ProjectDescription description = new ProjectDescription();
+		description.setBuildSystem(new MavenBuildSystem());
+		description.setLanguage(new JavaLanguage());
+		description.setGroupId("com.example");
+		InMemoryProjectOutput output = new InMemoryProjectOutput();
+		new MainSourceCodeFileContributor<JavaTypeDeclaration, JavaCompilationUnit, JavaSourceCode>(
+				description, JavaSourceCode::new, new JavaSourceCodeWriter(),
+				(ObjectProvider) beanFactory
+						.getBeanProvider(MainApplicationTypeBaseCustomizer.class),
+				Arrays.asList(beanFactory
+						.getBeanNamesForType(MainApplicationTypeBaseCustomizer.class)),
+				(ObjectProvider) beanFactory
+						.getBeanProvider(MainApplicationTypeCustomizer.class),
+				this.cache).contribute(output);
+		return new String(
+				output.getContent("src/main/java/com/example/DemoApplication.java"),
+				StandardCharsets.UTF_8);
+	}
+
+	private MainApplicationTypeBaseCustomizer<TypeDeclaration> annotator(String name) {
+		return (type) -> type.annotate(new Annotation(name));
+	}
+
+}
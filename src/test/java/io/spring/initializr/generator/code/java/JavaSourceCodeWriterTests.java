@@ -18,8 +18,12 @@ package io.spring.initializr.generator.code.java;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import io.spring.initializr.generator.language.Annotation;
 import io.spring.initializr.generator.language.Parameter;
@@ -29,6 +33,8 @@ import io.spring.initializr.generator.language.java.JavaMethodInvocation;
 import io.spring.initializr.generator.language.java.JavaSourceCode;
 import io.spring.initializr.generator.language.java.JavaSourceCodeWriter;
 import io.spring.initializr.generator.language.java.JavaTypeDeclaration;
+import io.spring.initializr.generator.output.DirectoryProjectOutput;
+import io.spring.initializr.generator.output.InMemoryProjectOutput;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -51,7 +57,8 @@ public class JavaSourceCodeWriterTests {
 	public void emptyCompilationUnit() throws IOException {
 		JavaSourceCode sourceCode = new JavaSourceCode();
 		sourceCode.createCompilationUnit("com.example", "Test");
-		this.writer.writeTo(this.temp.getRoot(), sourceCode);
+		this.writer.writeTo(new DirectoryProjectOutput(this.temp.getRoot().toPath()),
+				sourceCode);
 		File testSource = new File(this.temp.getRoot(), "com/example/Test.java");
 		assertThat(testSource).isFile();
 		List<String> lines = Files.readAllLines(testSource.toPath());
@@ -64,7 +71,8 @@ public class JavaSourceCodeWriterTests {
 		JavaCompilationUnit compilationUnit = sourceCode
 				.createCompilationUnit("com.example", "Test");
 		compilationUnit.createTypeDeclaration("Test");
-		this.writer.writeTo(this.temp.getRoot(), sourceCode);
+		this.writer.writeTo(new DirectoryProjectOutput(this.temp.getRoot().toPath()),
+				sourceCode);
 		File testSource = new File(this.temp.getRoot(), "com/example/Test.java");
 		assertThat(testSource).isFile();
 		List<String> lines = Files.readAllLines(testSource.toPath());
@@ -85,16 +93,140 @@ public class JavaSourceCodeWriterTests {
 				.body(new JavaMethodInvocation(
 						"org.springframework.boot.SpringApplication", "run", "Test.class",
 						"args")));
-		this.writer.writeTo(this.temp.getRoot(), sourceCode);
+		this.writer.writeTo(new DirectoryProjectOutput(this.temp.getRoot().toPath()),
+				sourceCode);
 		File testSource = new File(this.temp.getRoot(), "com/example/Test.java");
 		assertThat(testSource).isFile();
 		List<String> lines = Files.readAllLines(testSource.toPath());
 		lines.forEach(System.out::println);
 		assertThat(lines).containsExactly("package com.example;", "",
+				"import org.springframework.boot.SpringApplication;",
 				"import org.springframework.boot.autoconfigure.SpringBootApplication;",
 				"", "@SpringBootApplication", "public class Test {", "",
 				"    public static void main(String[] args) {",
 				"        SpringApplication.run(Test.class, args);", "    }", "", "}", "");
 	}
 
+	@Test
+	public void importsAreSortedAndDeduplicated() throws IOException {
+		JavaSourceCode sourceCode = new JavaSourceCode();
+		JavaCompilationUnit compilationUnit = sourceCode
+				.createCompilationUnit("com.example", "Test");
+		JavaTypeDeclaration test = compilationUnit.createTypeDeclaration("Test");
+		test.annotate(new Annotation("com.example.b.Second"));
+		test.annotate(new Annotation("com.example.a.First"));
+		for (int i = 0; i < 100; i++) {
+			test.addMethodDeclaration(JavaMethodDeclaration.method("method" + i)
+					.parameters(new Parameter("com.example.b.Second", "second"),
+							new Parameter("com.example.Local", "local"))
+					.body(new JavaMethodInvocation("com.example.a.First", "run")));
+		}
+		this.writer.writeTo(new DirectoryProjectOutput(this.temp.getRoot().toPath()),
+				sourceCode);
+		List<String> lines = Files.readAllLines(
+				new File(this.temp.getRoot(), "com/example/Test.java").toPath());
+		assertThat(lines.subList(0, 5)).containsExactly("package com.example;", "",
+				"import com.example.a.First;", "import com.example.b.Second;", "");
+		assertThat(lines).contains(
+				"    public void method0(Second second, Local local) {",
+				"        First.run();");
+	}
+
+	@Test
+	public void clashingSimpleNamesRemainQualified() throws IOException {
+		JavaSourceCode sourceCode = new JavaSourceCode();
+		JavaCompilationUnit compilationUnit = sourceCode
+				.createCompilationUnit("com.example", "Test");
+		JavaTypeDeclaration test = compilationUnit.createTypeDeclaration("Test");
+		test.annotate(new Annotation("com.example.a.Marker"));
+		test.annotate(new Annotation("com.example.b.Marker"));
+		this.writer.writeTo(new DirectoryProjectOutput(this.temp.getRoot().toPath()),
+				sourceCode);
+		List<String> lines = Files.readAllLines(
+				new File(this.temp.getRoot(), "com/example/Test.java").toPath());
+		assertThat(lines).containsExactly("package com.example;", "",
+				"import com.example.a.Marker;", "", "@Marker", "@com.example.b.Marker",
+				"public class Test {", "", "}", "");
+	}
+
+	@Test
+	public void typesThatWouldShadowJavaLangTypesRemainQualified() throws IOException {
+		JavaSourceCode sourceCode = new JavaSourceCode();
+		JavaCompilationUnit compilationUnit = sourceCode
+				.createCompilationUnit("com.example", "Test");
+		JavaTypeDeclaration test = compilationUnit.createTypeDeclaration("Test");
+		test.addMethodDeclaration(
+				JavaMethodDeclaration.method("run").returning("com.example.other.String")
+						.parameters(new Parameter("java.lang.String", "name")).body());
+		this.writer.writeTo(new DirectoryProjectOutput(this.temp.getRoot().toPath()),
+				sourceCode);
+		List<String> lines = Files.readAllLines(
+				new File(this.temp.getRoot(), "com/example/Test.java").toPath());
+		assertThat(lines).containsExactly("package com.example;", "",
+				"public class Test {", "",
+				"    public com.example.other.String run(String name) {", "    }", "",
+				"}", "");
+	}
+
+	@Test
+	public void typesThatWouldClashWithTheUnitsOwnTypesRemainQualified()
+			throws IOException {
+		JavaSourceCode sourceCode = new JavaSourceCode();
+		JavaCompilationUnit compilationUnit = sourceCode
+				.createCompilationUnit("com.example", "Test");
+		JavaTypeDeclaration test = compilationUnit.createTypeDeclaration("Test");
+		test.annotate(new Annotation("com.example.other.Test"));
+		test.annotate(new Annotation("com.example.other.Local"));
+		test.annotate(new Annotation("com.example.Local"));
+		this.writer.writeTo(new DirectoryProjectOutput(this.temp.getRoot().toPath()),
+				sourceCode);
+		List<String> lines = Files.readAllLines(
+				new File(this.temp.getRoot(), "com/example/Test.java").toPath());
+		assertThat(lines).containsExactly("package com.example;", "",
+				"@com.example.other.Test", "@com.example.other.Local", "@Local",
+				"public class Test {", "", "}", "");
+	}
+
+	@Test
+	public void concurrentRenderingWritesUnitsInOrder() throws IOException {
+		JavaSourceCode sourceCode = new JavaSourceCode();
+		for (int i = 0; i < 60; i++) {
+			JavaTypeDeclaration type = sourceCode
+					.createCompilationUnit("com.example", "Test" + i)
+					.createTypeDeclaration("Test" + i);
+			type.annotate(new Annotation("com.example.annotation.Marker"));
+			type.addMethodDeclaration(JavaMethodDeclaration.method("run")
+					.body(new JavaMethodInvocation("com.example.util.Runner", "run")));
+		}
+		RecordingProjectOutput sequential = new RecordingProjectOutput();
+		this.writer.writeTo(sequential, sourceCode);
+		RecordingProjectOutput concurrent = new RecordingProjectOutput();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			new JavaSourceCodeWriter(executor).writeTo(concurrent, sourceCode);
+		}
+		finally {
+			executor.shutdown();
+		}
+		assertThat(concurrent.writtenPaths).hasSize(60)
+				.containsExactlyElementsOf(sequential.writtenPaths);
+		assertThat(concurrent.writtenPaths.get(0)).isEqualTo("com/example/Test0.java");
+		for (String path : sequential.writtenPaths) {
+			assertThat(concurrent.getContent(path))
+					.isEqualTo(sequential.getContent(path));
+		}
+	}
+
+	private static class RecordingProjectOutput extends InMemoryProjectOutput {
+
+		private final List<String> writtenPaths = new ArrayList<>();
+
+		@Override
+		public OutputStream newOutputStream(String path, Option... options) {
+			this.writtenPaths.add(path);
+			return super.newOutputStream(path, options);
+		}
+
+	}
+
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.condition;
+
+import java.lang.reflect.Method;
+
+import io.spring.initializr.generator.Dependency;
+import io.spring.initializr.generator.DependencyType;
+import io.spring.initializr.generator.ProjectDescription;
+import org.junit.Test;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.StandardMethodMetadata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link OnDependencyCondition}.
+ *
+ * @author Andy Wilkinson
+ */
+public class OnDependencyConditionTests {
+
+	@Test
+	public void singleDependencyMatchesWhenPresent() {
+		assertThat(beansFor("com.example:a")).containsExactlyInAnyOrder("single", "any");
+	}
+
+	@Test
+	public void anyDependencyMatchesWhenOneIsPresent() {
+		assertThat(beansFor("com.example:b")).containsExactly("any");
+	}
+
+	@Test
+	public void allDependenciesMatchOnlyWhenAllArePresent() {
+		assertThat(beansFor("com.example:a", "com.example:b"))
+				.containsExactlyInAnyOrder("single", "any", "all");
+	}
+
+	@Test
+	public void nothingMatchesWithoutDependencies() {
+		assertThat(beansFor()).isEmpty();
+	}
+
+	@Test
+	public void dependencyCoordinatesAreRecomputedWhenDependencyIsAdded() {
+		ProjectDescription description = new ProjectDescription();
+		description.addDependency(
+				new Dependency("com.example", "a", DependencyType.COMPILE));
+		assertThat(description.getDependencyCoordinates())
+				.containsExactly("com.example:a");
+		description.addDependency(
+				new Dependency("com.example", "b", DependencyType.RUNTIME));
+		assertThat(description.getDependencyCoordinates())
+				.containsExactlyInAnyOrder("com.example:a", "com.example:b");
+	}
+
+	@Test
+	public void overloadedMethodsAreCompiledSeparately() throws Exception {
+		ProjectDescription description = new ProjectDescription();
+		description.addDependency(
+				new Dependency("com.example", "a", DependencyType.COMPILE));
+		OnDependencyCondition condition = new OnDependencyCondition();
+		Method withoutArgument = Overloads.class.getDeclaredMethod("overloaded");
+		Method withArgument = Overloads.class.getDeclaredMethod("overloaded",
+				String.class);
+		assertThat(condition.matches(description, null,
+				new StandardMethodMetadata(withoutArgument))).isTrue();
+		assertThat(condition.matches(description, null,
+				new StandardMethodMetadata(withArgument))).isFalse();
+	}
+
+	private String[] beansFor(String... coordinates) {
+		ProjectDescription description = new ProjectDescription();
+		for (String coordinate : coordinates) {
+			String[] components = coordinate.split(":");
+			description.addDependency(
+					new Dependency(components[0], components[1], DependencyType.COMPILE));
+		}
+		try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+			context.getBeanFactory().registerSingleton("projectDescription", description);
+			context.register(DependencyConfiguration.class);
+			context.refresh();
+			return context.getBeanNamesForType(String.class);
+		}
+	}
+
+	@Configuration
+	static class DependencyConfiguration {
+
+		@Bean
+		@ConditionalOnDependency(groupId = "com.example", artifactId = "a")
+		public String single() {
+			return "single";
+		}
+
+		@Bean
+		@ConditionalOnAnyDependency({ "com.example:a", "com.example:b" })
+		public String any() {
+			return "any";
+		}
+
+		@Bean
+		@ConditionalOnAllDependencies({ "com.example:a", "com.example:b" })
+		public String all() {
+			return "all";
+		}
+
+	}
+
+	static class Overloads {
+
+		@ConditionalOnDependency(groupId = "com.example", artifactId = "a")
+		public String overloaded() {
+			return "a";
+		}
+
+		@ConditionalOnDependency(groupId = "com.example", artifactId = "b")
+		public String overloaded(String argument) {
+			return "b";
+		}
+
+	}
+
+}
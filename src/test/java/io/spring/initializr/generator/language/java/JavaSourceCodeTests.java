@@ -0,0 +1,68 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.language.java;
+
+import io.spring.initializr.generator.language.Annotation;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link JavaSourceCode}.
+ *
+ * @author Andy Wilkinson
+ */
+public class JavaSourceCodeTests {
+
+	@Test
+	public void forkCanBeModifiedWithoutAffectingOriginal() {
+		JavaSourceCode base = new JavaSourceCode();
+		JavaTypeDeclaration baseType = base.createCompilationUnit("com.example", "Demo")
+				.createTypeDeclaration("Demo");
+		baseType.annotate(new Annotation("com.example.Base"));
+		baseType.addMethodDeclaration(JavaMethodDeclaration.method("base").body());
+		JavaSourceCode fork = base.fork();
+		JavaCompilationUnit forkedUnit = fork.getCompilationUnits().get(0);
+		JavaTypeDeclaration forkedType = forkedUnit.getTypeDeclarations().get(0);
+		forkedType.annotate(new Annotation("com.example.Fork"));
+		forkedType.addMethodDeclaration(JavaMethodDeclaration.method("fork").body());
+		forkedUnit.createTypeDeclaration("Other");
+		fork.createCompilationUnit("com.example", "Another");
+		assertThat(base.getCompilationUnits()).hasSize(1);
+		assertThat(base.getCompilationUnits().get(0).getTypeDeclarations()).hasSize(1);
+		assertThat(baseType.getAnnotations()).extracting(Annotation::getName)
+				.containsExactly("com.example.Base");
+		assertThat(baseType.getMethodDeclarations()).hasSize(1);
+		assertThat(fork.getCompilationUnits()).hasSize(2);
+		assertThat(forkedUnit.getTypeDeclarations()).hasSize(2);
+		assertThat(forkedType.getAnnotations()).extracting(Annotation::getName)
+				.containsExactly("com.example.Base", "com.example.Fork");
+		assertThat(forkedType.getMethodDeclarations()).hasSize(2);
+	}
+
+	@Test
+	public void originalCanBeModifiedWithoutAffectingFork() {
+		JavaSourceCode base = new JavaSourceCode();
+		JavaTypeDeclaration baseType = base.createCompilationUnit("com.example", "Demo")
+				.createTypeDeclaration("Demo");
+		JavaSourceCode fork = base.fork();
+		baseType.annotate(new Annotation("com.example.Base"));
+		assertThat(fork.getCompilationUnits().get(0).getTypeDeclarations().get(0)
+				.getAnnotations()).isEmpty();
+	}
+
+}
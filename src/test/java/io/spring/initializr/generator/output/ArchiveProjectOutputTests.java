@@ -0,0 +1,182 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.output;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.spring.initializr.generator.output.ProjectOutput.Option;
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.junit.Test;
+
+import org.springframework.util.StreamUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link ZipProjectOutput} and {@link TarGzProjectOutput}.
+ *
+ * @author Andy Wilkinson
+ */
+public class ArchiveProjectOutputTests {
+
+	@Test
+	public void zipArchivePreservesContentAndExecutableBit() throws IOException {
+		ByteArrayOutputStream archive = new ByteArrayOutputStream();
+		try (ZipProjectOutput output = new ZipProjectOutput(archive)) {
+			writeFiles(output);
+		}
+		Map<String, String> contents = new HashMap<>();
+		read(new ZipArchiveInputStream(new ByteArrayInputStream(archive.toByteArray())),
+				new HashMap<>(), contents);
+		assertContents(contents);
+		try (ZipFile zip = new ZipFile(
+				new SeekableInMemoryByteChannel(archive.toByteArray()))) {
+			assertThat(zip.getEntry("mvnw").getUnixMode() & 0777).isEqualTo(0755);
+			assertThat(zip.getEntry("pom.xml").getUnixMode() & 0777).isEqualTo(0644);
+		}
+	}
+
+	@Test
+	public void tarGzArchivePreservesContentAndExecutableBit() throws IOException {
+		ByteArrayOutputStream archive = new ByteArrayOutputStream();
+		try (TarGzProjectOutput output = new TarGzProjectOutput(archive)) {
+			writeFiles(output);
+		}
+		Map<String, ArchiveEntry> entries = new HashMap<>();
+		Map<String, String> contents = new HashMap<>();
+		read(new TarArchiveInputStream(new GzipCompressorInputStream(
+				new ByteArrayInputStream(archive.toByteArray()))), entries, contents);
+		assertContents(contents);
+		assertThat(((TarArchiveEntry) entries.get("mvnw")).getMode() & 0777)
+				.isEqualTo(0755);
+		assertThat(((TarArchiveEntry) entries.get("pom.xml")).getMode() & 0777)
+				.isEqualTo(0644);
+	}
+
+	@Test
+	public void filesAreAddedAsTheyAreWrittenAndAppendedFilesWhenClosed()
+			throws IOException {
+		ByteArrayOutputStream archive = new ByteArrayOutputStream();
+		try (ZipProjectOutput output = new ZipProjectOutput(archive)) {
+			write(output.newOutputStream("mvnw", Option.EXECUTABLE), "#!/bin/sh");
+			assertThat(archive.size()).isGreaterThan(0);
+			write(output.newOutputStream("b", Option.APPEND), "b");
+			write(output.newOutputStream("a", Option.APPEND), "a");
+			write(output.newOutputStream("pom.xml"), "<project/>");
+		}
+		assertThat(readNames(new ZipArchiveInputStream(
+				new ByteArrayInputStream(archive.toByteArray())))).containsExactly("mvnw",
+						"pom.xml", "a", "b");
+	}
+
+	@Test
+	public void writingAnAppendedPathReplacesItsContent() throws IOException {
+		ByteArrayOutputStream archive = new ByteArrayOutputStream();
+		try (TarGzProjectOutput output = new TarGzProjectOutput(archive)) {
+			writeFiles(output);
+			write(output.newOutputStream(".gitignore"), "three");
+		}
+		Map<String, String> contents = new HashMap<>();
+		read(new TarArchiveInputStream(new GzipCompressorInputStream(
+				new ByteArrayInputStream(archive.toByteArray()))), new HashMap<>(),
+				contents);
+		assertThat(contents.get(".gitignore")).isEqualTo("three");
+	}
+
+	@Test
+	public void writingAPathThatHasBeenAddedFails() throws IOException {
+		try (TarGzProjectOutput output = new TarGzProjectOutput(
+				new ByteArrayOutputStream())) {
+			writeFiles(output);
+			assertThatIllegalStateException().isThrownBy(
+					() -> write(output.newOutputStream("pom.xml"), "<project></project>"))
+					.withMessageContaining("'pom.xml' has already been added");
+		}
+	}
+
+	private void writeFiles(ProjectOutput output) throws IOException {
+		write(output.newOutputStream(".gitignore", Option.APPEND), "one");
+		write(output.newOutputStream("mvnw", Option.EXECUTABLE), "#!/bin/sh");
+		write(output.resolve("src/main/java").newOutputStream("com/example/Demo.java"),
+				"class Demo {}");
+		write(output.newOutputStream(".gitignore", Option.APPEND), "two");
+		write(output.newOutputStream("pom.xml"), "<project/>");
+	}
+
+	private void write(OutputStream stream, String content) throws IOException {
+		try {
+			stream.write(content.getBytes(StandardCharsets.UTF_8));
+		}
+		finally {
+			stream.close();
+		}
+	}
+
+	private void read(ArchiveInputStream archive, Map<String, ArchiveEntry> entries,
+			Map<String, String> contents) throws IOException {
+		try {
+			ArchiveEntry entry;
+			while ((entry = archive.getNextEntry()) != null) {
+				entries.put(entry.getName(), entry);
+				contents.put(entry.getName(),
+						StreamUtils.copyToString(archive, StandardCharsets.UTF_8));
+			}
+		}
+		finally {
+			archive.close();
+		}
+	}
+
+	private List<String> readNames(ArchiveInputStream archive) throws IOException {
+		List<String> names = new ArrayList<>();
+		try {
+			ArchiveEntry entry;
+			while ((entry = archive.getNextEntry()) != null) {
+				names.add(entry.getName());
+			}
+		}
+		finally {
+			archive.close();
+		}
+		return names;
+	}
+
+	private void assertContents(Map<String, String> contents) {
+		assertThat(contents).containsOnlyKeys(".gitignore", "mvnw", "pom.xml",
+				"src/main/java/com/example/Demo.java");
+		assertThat(contents.get(".gitignore")).isEqualTo("onetwo");
+		assertThat(contents.get("src/main/java/com/example/Demo.java"))
+				.isEqualTo("class Demo {}");
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import io.spring.initializr.generator.output.ProjectOutput.Option;
+import io.spring.initializr.generator.resource.PackedResource;
+import io.spring.initializr.generator.resource.ResourcePack;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link DirectoryProjectOutput}.
+ *
+ * @author Andy Wilkinson
+ */
+public class DirectoryProjectOutputTests {
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	private PackedResource resource;
+
+	private byte[] content;
+
+	@Before
+	public void loadResource() throws IOException {
+		this.resource = ResourcePack.get(getClass().getClassLoader())
+				.getResource("classpath:git/gitignore");
+		this.content = Files.readAllBytes(this.resource.getFile());
+	}
+
+	@Test
+	public void packedResourceIsWrittenWithItsContent() throws IOException {
+		Path root = this.temp.getRoot().toPath();
+		new DirectoryProjectOutput(root).write("a/.gitignore", this.resource);
+		assertThat(root.resolve("a/.gitignore")).hasBinaryContent(this.content);
+	}
+
+	@Test
+	public void packedResourceIsCopiedByDefault() throws IOException {
+		Path root = this.temp.getRoot().toPath();
+		new DirectoryProjectOutput(root).write(".gitignore", this.resource);
+		assertThat(Files.isSameFile(root.resolve(".gitignore"), this.resource.getFile()))
+				.isFalse();
+		assertThat(Files.isWritable(root.resolve(".gitignore"))).isTrue();
+	}
+
+	@Test
+	public void executablePackedResourceIsWrittenAsExecutableCopy() throws IOException {
+		Path root = this.temp.getRoot().toPath();
+		new DirectoryProjectOutput(root, true).write("run", this.resource,
+				Option.EXECUTABLE);
+		assertThat(Files.isExecutable(root.resolve("run"))).isTrue();
+		assertThat(Files.isSameFile(root.resolve("run"), this.resource.getFile()))
+				.isFalse();
+		assertThat(root.resolve("run")).hasBinaryContent(this.content);
+	}
+
+	@Test
+	public void writingToLinkedFileDoesNotModifyPackedResource() throws IOException {
+		Path root = this.temp.getRoot().toPath();
+		DirectoryProjectOutput output = new DirectoryProjectOutput(root, true);
+		output.write(".gitignore", this.resource);
+		try (OutputStream stream = output.newOutputStream(".gitignore", Option.APPEND)) {
+			stream.write("extra".getBytes(StandardCharsets.UTF_8));
+		}
+		try (OutputStream stream = output.newOutputStream(".gitignore")) {
+			stream.write("replaced".getBytes(StandardCharsets.UTF_8));
+		}
+		assertThat(root.resolve(".gitignore")).hasContent("replaced");
+		assertThat(this.resource.getFile()).hasBinaryContent(this.content);
+	}
+
+}
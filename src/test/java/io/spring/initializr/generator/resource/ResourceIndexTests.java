@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.resource;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.StringUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ResourceIndex}.
+ *
+ * @author Andy Wilkinson
+ */
+public class ResourceIndexTests {
+
+	private final PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+
+	@Test
+	public void wrapperRootsAreManifested() {
+		ResourceIndex index = new ResourceIndex(this.resolver);
+		assertThat(index.isManifested("classpath:maven/wrapper")).isTrue();
+		assertThat(index.isManifested("classpath:gradle/wrapper")).isTrue();
+	}
+
+	@Test
+	public void manifestMatchesClasspath() throws IOException {
+		ResourceIndex manifested = new ResourceIndex(this.resolver);
+		ResourceIndex scanned = new ResourceIndex(this.resolver, Collections.emptyMap());
+		assertThat(manifested.getManifestedRoots()).isNotEmpty();
+		for (String root : manifested.getManifestedRoots()) {
+			assertThat(paths(manifested.getEntries(root))).as(root)
+					.isEqualTo(paths(scanned.getEntries(root)));
+		}
+	}
+
+	@Test
+	public void everyWrapperRootOnTheClasspathIsManifested() throws IOException {
+		Set<String> wrapperRoots = new HashSet<>();
+		for (Resource resource : this.resolver.getResources("classpath*:*/wrapper")) {
+			String[] segments = StringUtils
+					.trimTrailingCharacter(resource.getURL().toString(), '/').split("/");
+			wrapperRoots.add("classpath:" + segments[segments.length - 2] + "/"
+					+ segments[segments.length - 1]);
+		}
+		assertThat(wrapperRoots).isNotEmpty();
+		assertThat(new ResourceIndex(this.resolver).getManifestedRoots())
+				.containsAll(wrapperRoots);
+	}
+
+	@Test
+	public void entriesAreIndexedOnce() throws IOException {
+		ResourceIndex index = new ResourceIndex(this.resolver, Collections.emptyMap());
+		List<ResourceIndex.Entry> entries = index.getEntries("classpath:gradle/wrapper");
+		assertThat(index.getEntries("classpath:gradle/wrapper")).isSameAs(entries);
+		assertThat(entries.get(0).getSize()).isGreaterThan(0);
+	}
+
+	private List<String> paths(List<ResourceIndex.Entry> entries) {
+		return entries.stream().map(ResourceIndex.Entry::getPath)
+				.collect(Collectors.toList());
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.resource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ResourcePack}.
+ *
+ * @author Andy Wilkinson
+ */
+public class ResourcePackTests {
+
+	private final ResourcePack resourcePack = new ResourcePack(
+			new PathMatchingResourcePatternResolver());
+
+	@Test
+	public void resourcesBeneathRootAreLoadedOnceWithRelativePaths() throws IOException {
+		List<PackedResource> resources = this.resourcePack
+				.getResources("classpath:maven/wrapper");
+		assertThat(resources.stream().map(PackedResource::getPath)
+				.collect(Collectors.toList())).containsExactly(
+						".mvn/wrapper/MavenWrapperDownloader.java",
+						".mvn/wrapper/maven-wrapper.jar",
+						".mvn/wrapper/maven-wrapper.properties", "mvnw", "mvnw.cmd");
+		assertThat(this.resourcePack.getResources("classpath:maven/wrapper"))
+				.isSameAs(resources);
+	}
+
+	@Test
+	public void singleResourceIsLoadedOnce() throws IOException {
+		PackedResource resource = this.resourcePack
+				.getResource("classpath:git/gitignore");
+		assertThat(resource.getSize()).isGreaterThan(0);
+		assertThat(this.resourcePack.getResource("classpath:git/gitignore"))
+				.isSameAs(resource);
+	}
+
+	@Test
+	public void footprintReportsBytesOfLoadedResources() throws IOException {
+		assertThat(this.resourcePack.getFootprint().getResourceCount()).isEqualTo(0);
+		this.resourcePack.warmUp("classpath:gradle/wrapper");
+		ResourcePackFootprint footprint = this.resourcePack.getFootprint();
+		assertThat(footprint.getResourceCount()).isEqualTo(4);
+		assertThat(footprint.getBytesByLocation())
+				.containsOnlyKeys("classpath:gradle/wrapper");
+		assertThat(footprint.getTotalBytes())
+				.isEqualTo(this.resourcePack.getResources("classpath:gradle/wrapper")
+						.stream().mapToLong(PackedResource::getSize).sum());
+		assertThat(footprint.toString()).contains("classpath:gradle/wrapper");
+	}
+
+}
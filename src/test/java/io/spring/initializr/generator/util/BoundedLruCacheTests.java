@@ -0,0 +1,84 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.util;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BoundedLruCache}.
+ *
+ * @author Andy Wilkinson
+ */
+public class BoundedLruCacheTests {
+
+	@Test
+	public void cachedValueIsReturned() {
+		BoundedLruCache<String, String> cache = new BoundedLruCache<>(2);
+		assertThat(cache.get("a", () -> "one")).isEqualTo("one");
+		assertThat(cache.get("a", () -> "two")).isEqualTo("one");
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		assertThat(cache.getMissCount()).isEqualTo(1);
+		assertThat(cache.getHitRate()).isEqualTo(0.5);
+	}
+
+	@Test
+	public void leastRecentlyUsedEntryIsEvictedWhenFull() {
+		BoundedLruCache<String, String> cache = new BoundedLruCache<>(2);
+		cache.get("a", () -> "a");
+		cache.get("b", () -> "b");
+		cache.get("a", () -> "a");
+		cache.get("c", () -> "c");
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.get("a", () -> "reloaded")).isEqualTo("a");
+		assertThat(cache.get("b", () -> "reloaded")).isEqualTo("reloaded");
+	}
+
+	@Test
+	public void leastRecentlyUsedEntriesAreEvictedWhenTooHeavy() {
+		BoundedLruCache<String, String> cache = new BoundedLruCache<>(10, 6,
+				String::length);
+		cache.get("a", () -> "aa");
+		cache.get("b", () -> "bb");
+		cache.get("c", () -> "cccc");
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.getWeight()).isEqualTo(6);
+		assertThat(cache.get("a", () -> "reloaded")).isEqualTo("reloaded");
+	}
+
+	@Test
+	public void valueHeavierThanMaximumWeightIsNotCached() {
+		BoundedLruCache<String, String> cache = new BoundedLruCache<>(10, 6,
+				String::length);
+		cache.get("a", () -> "aa");
+		assertThat(cache.get("b", () -> "bbbbbbb")).isEqualTo("bbbbbbb");
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(cache.getWeight()).isEqualTo(2);
+	}
+
+	@Test
+	public void clearRemovesEntriesAndWeight() {
+		BoundedLruCache<String, String> cache = new BoundedLruCache<>(10, 6,
+				String::length);
+		cache.get("a", () -> "aa");
+		cache.clear();
+		assertThat(cache.size()).isEqualTo(0);
+		assertThat(cache.getWeight()).isEqualTo(0);
+	}
+
+}
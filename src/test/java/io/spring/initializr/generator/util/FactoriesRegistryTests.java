@@ -0,0 +1,99 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.util;
+
+import java.util.function.BiFunction;
+
+import io.spring.initializr.generator.buildsystem.BuildSystem;
+import io.spring.initializr.generator.buildsystem.BuildSystemFactory;
+import io.spring.initializr.generator.buildsystem.gradle.GradleBuildSystem;
+import io.spring.initializr.generator.buildsystem.maven.MavenBuildSystem;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link FactoriesRegistry}.
+ *
+ * @author Andy Wilkinson
+ */
+public class FactoriesRegistryTests {
+
+	private final ClassLoader classLoader = getClass().getClassLoader();
+
+	@After
+	public void refresh() {
+		FactoriesRegistry.refresh(this.classLoader);
+	}
+
+	@Test
+	public void registryIsLoadedOncePerClassLoader() {
+		assertThat(FactoriesRegistry.get(BuildSystemFactory.class, this.classLoader))
+				.isSameAs(FactoriesRegistry.get(BuildSystemFactory.class,
+						this.classLoader));
+	}
+
+	@Test
+	public void factoriesAreLoadedInDeclarationOrder() {
+		assertThat(FactoriesRegistry.get(BuildSystemFactory.class, this.classLoader)
+				.getFactories())
+						.extracting((factory) -> factory.getClass().getSimpleName())
+						.containsExactly("GradleBuildSystemFactory",
+								"MavenBuildSystemFactory");
+	}
+
+	@Test
+	public void resolvedInstancesAreCached() {
+		FactoriesRegistry<BuildSystemFactory> registry = FactoriesRegistry
+				.get(BuildSystemFactory.class, this.classLoader);
+		BiFunction<BuildSystemFactory, String, BuildSystem> creator = BuildSystemFactory::createBuildSystem;
+		BuildSystem gradle = registry.resolve("gradle", creator);
+		assertThat(gradle).isInstanceOf(GradleBuildSystem.class);
+		assertThat(registry.resolve("gradle", creator)).isSameAs(gradle);
+		assertThat(registry.resolve("maven", creator))
+				.isInstanceOf(MavenBuildSystem.class);
+	}
+
+	@Test
+	public void instancesAreCachedSeparatelyForEachCreator() {
+		FactoriesRegistry<BuildSystemFactory> registry = FactoriesRegistry
+				.get(BuildSystemFactory.class, this.classLoader);
+		BuildSystem gradle = registry.resolve("gradle",
+				BuildSystemFactory::createBuildSystem);
+		String description = registry.resolve("gradle",
+				(factory, id) -> id + " from " + factory.getClass().getSimpleName());
+		assertThat(gradle).isInstanceOf(GradleBuildSystem.class);
+		assertThat(description).isEqualTo("gradle from GradleBuildSystemFactory");
+	}
+
+	@Test
+	public void unrecognizedIdResolvesToNull() {
+		assertThat(FactoriesRegistry.get(BuildSystemFactory.class, this.classLoader)
+				.resolve("ant", BuildSystemFactory::createBuildSystem)).isNull();
+	}
+
+	@Test
+	public void refreshDiscardsRegistry() {
+		FactoriesRegistry<BuildSystemFactory> registry = FactoriesRegistry
+				.get(BuildSystemFactory.class, this.classLoader);
+		FactoriesRegistry.refresh(this.classLoader);
+		assertThat(FactoriesRegistry.get(BuildSystemFactory.class, this.classLoader))
+				.isNotSameAs(registry);
+	}
+
+}
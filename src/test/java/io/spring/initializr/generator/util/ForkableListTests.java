@@ -0,0 +1,61 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.util;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link ForkableList}.
+ *
+ * @author Andy Wilkinson
+ */
+public class ForkableListTests {
+
+	@Test
+	public void appendingToForkDoesNotAffectOriginal() {
+		ForkableList<String> original = new ForkableList<>();
+		original.append("a");
+		ForkableList<String> fork = original.fork();
+		fork.append("b");
+		assertThat(original).containsExactly("a");
+		assertThat(fork).containsExactly("a", "b");
+	}
+
+	@Test
+	public void elementsAreForkedUsingForker() {
+		ForkableList<StringBuilder> original = new ForkableList<>();
+		original.append(new StringBuilder("a"));
+		ForkableList<StringBuilder> fork = original
+				.fork((element) -> new StringBuilder(element));
+		fork.get(0).append("b");
+		assertThat(original.get(0).toString()).isEqualTo("a");
+		assertThat(fork.get(0).toString()).isEqualTo("ab");
+	}
+
+	@Test
+	public void forkerThatChangesTheClassOfAnElementIsRejected() {
+		ForkableList<Number> original = new ForkableList<>();
+		original.append(1);
+		assertThatThrownBy(() -> original.fork((element) -> element.longValue()))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("java.lang.Long");
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link LambdaSafe}.
+ *
+ * @author Andy Wilkinson
+ */
+public class LambdaSafeTests {
+
+	@Test
+	public void callbacksAreFilteredByTheirGenericType() {
+		List<String> invoked = new ArrayList<>();
+		List<GenericCallback<?>> callbacks = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			callbacks.add(new StringCallback(invoked));
+			callbacks.add(new IntegerCallback(invoked));
+		}
+		long resolutions = LambdaSafe.getGenericResolutionCount();
+		for (int i = 0; i < 2; i++) {
+			invoked.clear();
+			LambdaSafe.callbacks(GenericCallback.class, callbacks, "argument")
+					.invoke((callback) -> callback.handle("argument"));
+			assertThat(invoked).hasSize(200).containsOnly("string");
+		}
+		assertThat(LambdaSafe.getGenericResolutionCount() - resolutions).isEqualTo(2);
+	}
+
+	@Test
+	public void callbackWithUnresolvableGenericIsAlwaysInvoked() {
+		List<Object> invoked = new ArrayList<>();
+		GenericCallback<Object> lambda = invoked::add;
+		LambdaSafe.callbacks(GenericCallback.class, Arrays.asList(lambda), "argument")
+				.invoke((callback) -> callback.handle("argument"));
+		assertThat(invoked).containsExactly("argument");
+	}
+
+	interface GenericCallback<T> {
+
+		void handle(T argument);
+
+	}
+
+	static class StringCallback implements GenericCallback<String> {
+
+		private final List<String> invoked;
+
+		StringCallback(List<String> invoked) {
+			this.invoked = invoked;
+		}
+
+		@Override
+		public void handle(String argument) {
+			this.invoked.add("string");
+		}
+
+	}
+
+	static class IntegerCallback implements GenericCallback<Integer> {
+
+		private final List<String> invoked;
+
+		IntegerCallback(List<String> invoked) {
+			this.invoked = invoked;
+		}
+
+		@Override
+		public void handle(Integer argument) {
+			this.invoked.add("integer");
+		}
+
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.initializr.generator.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link SingleFlight}.
+ *
+ * @author Andy Wilkinson
+ */
+public class SingleFlightTests {
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+	@After
+	public void shutdown() {
+		this.executor.shutdownNow();
+	}
+
+	@Test
+	public void concurrentCallsForSameKeyAreCoalesced() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger calls = new AtomicInteger();
+		List<Future<String>> results = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			results.add(
+					this.executor.submit(() -> this.singleFlight.execute("key", () -> {
+						calls.incrementAndGet();
+						release.await();
+						return "result";
+					})));
+		}
+		awaitCoalescedCount(7);
+		release.countDown();
+		for (Future<String> result : results) {
+			assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("result");
+		}
+		assertThat(calls).hasValue(1);
+		assertThat(this.singleFlight.getInFlightCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void sequentialCallsAreNotCoalesced() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		this.singleFlight.execute("key", () -> "result" + calls.incrementAndGet());
+		assertThat(this.singleFlight.execute("key",
+				() -> "result" + calls.incrementAndGet())).isEqualTo("result2");
+	}
+
+	@Test
+	public void failureIsPropagatedToEveryCallerInItsOwnException() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		IllegalStateException failure = new IllegalStateException("Failure");
+		List<Future<String>> results = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			results.add(
+					this.executor.submit(() -> this.singleFlight.execute("key", () -> {
+						release.await();
+						throw failure;
+					})));
+		}
+		awaitCoalescedCount(3);
+		release.countDown();
+		Set<Throwable> thrown = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (Future<String> result : results) {
+			assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+					.satisfies((ex) -> thrown.add(ex.getCause()));
+		}
+		assertThat(thrown).hasSize(4).contains(failure);
+		thrown.remove(failure);
+		assertThat(thrown).allSatisfy((ex) -> {
+			assertThat(ex).isInstanceOf(ExecutionException.class);
+			assertThat(ex.getCause()).isSameAs(failure);
+		});
+	}
+
+	@Test
+	public void callerStopsWaitingAfterMaximumWait() throws Exception {
+		SingleFlight<String, String> singleFlight = new SingleFlight<>(
+				Duration.ofMillis(50));
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Future<String> leader = this.executor
+				.submit(() -> singleFlight.execute("key", () -> {
+					started.countDown();
+					release.await();
+					return "result";
+				}));
+		assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThatThrownBy(() -> singleFlight.execute("key", () -> "follower"))
+				.isInstanceOf(TimeoutException.class);
+		release.countDown();
+		assertThat(leader.get(10, TimeUnit.SECONDS)).isEqualTo("result");
+	}
+
+	private void awaitCoalescedCount(long expected) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10000;
+		while (this.singleFlight.getCoalescedCount() < expected
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(this.singleFlight.getCoalescedCount()).isEqualTo(expected);
+	}
+
+}